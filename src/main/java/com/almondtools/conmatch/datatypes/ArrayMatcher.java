@@ -5,8 +5,6 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNull.nullValue;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -21,18 +19,35 @@ public class ArrayMatcher<T> extends TypeSafeMatcher<T[]> {
 
 	private Class<T> type;
 	private List<Matcher<T>> elements;
+	private SlotIndex<T, T> index;
 	private boolean anyOrder;
+	private boolean exactly;
+	private Scratch.Local scratch;
 
 	public ArrayMatcher(Class<T> type) {
 		this.type = type;
 		this.elements = new ArrayList<>();
+		this.index = new SlotIndex<>(true, new SlotIndex.Acceptor<T>() {
+
+			@Override
+			public boolean accepts(int slot, T element) {
+				return elements.get(slot).matches(element);
+			}
+		});
+		this.scratch = new Scratch.Local();
 	}
 
 	public ArrayMatcher<T> element(T element) {
-		return element(match(element));
+		if (element != null && element.getClass().isArray()) {
+			return element(match(element));
+		}
+		index.addValue(element);
+		elements.add(match(element));
+		return this;
 	}
 
 	public ArrayMatcher<T> element(Matcher<T> element) {
+		index.addMatcher();
 		elements.add(element);
 		return this;
 	}
@@ -52,25 +67,28 @@ public class ArrayMatcher<T> extends TypeSafeMatcher<T[]> {
 
 	@Override
 	protected void describeMismatchSafely(T[] item, Description mismatchDescription) {
-		Matches<T> matches = new Matches<>();
+		Matches<T> matches = new Matches<T>().summarizingRuns();
 
-		Iterator<Matcher<T>> elementIterator = elements.iterator();
-		Iterator<? extends T> itemIterator = asList(item).iterator();
-		while (elementIterator.hasNext() && itemIterator.hasNext()) {
-			Matcher<T> matcher = elementIterator.next();
-			T element = itemIterator.next();
+		int common = Math.min(elements.size(), item.length);
+		int first = 0;
+		while (first < common && elements.get(first).matches(item[first])) {
+			first++;
+		}
+		matches.match(first);
+		for (int i = first; i < common; i++) {
+			Matcher<T> matcher = elements.get(i);
+			T element = item[i];
 			if (!matcher.matches(element)) {
 				matches.mismatch(matcher, element);
 			} else {
 				matches.match();
 			}
 		}
-		if (elementIterator.hasNext()) {
-			int count = count(elementIterator);
-			matches.mismatch("missing " + count + " elements");
+		if (elements.size() > common) {
+			matches.mismatch("missing " + (elements.size() - common) + " elements");
 		}
-		if (itemIterator.hasNext()) {
-			List<T> items = collect(itemIterator);
+		if (item.length > common) {
+			List<T> items = asList(item).subList(common, item.length);
 			matches.mismatch("found " + items.size() + " elements surplus " + toDescriptionSet(items));
 		}
 
@@ -79,23 +97,6 @@ public class ArrayMatcher<T> extends TypeSafeMatcher<T[]> {
 		}
 	}
 
-	private int count(Iterator<?> iterator) {
-		int count = 0;
-		while (iterator.hasNext()) {
-			iterator.next();
-			count++;
-		}
-		return count;
-	}
-
-	private List<T> collect(Iterator<? extends T> iterator) {
-		List<T> collected = new ArrayList<>();
-		while (iterator.hasNext()) {
-			collected.add(iterator.next());
-		}
-		return collected;
-	}
-
 	private Set<String> toDescriptionSet(List<T> elements) {
 		Matcher<T> matcher = bestMatcher();
 		Set<String> set = new LinkedHashSet<>();
@@ -127,29 +128,30 @@ public class ArrayMatcher<T> extends TypeSafeMatcher<T[]> {
 			return false;
 		}
 
-		if (anyOrder) {
-			List<Matcher<T>> pending = new ArrayList<>(elements);
-			Iterator<? extends T> itemIterator = Arrays.asList(item).iterator();
-			nextItem: while (itemIterator.hasNext()) {
-				T element = itemIterator.next();
-				Iterator<Matcher<T>> elementIterator = pending.iterator();
-				while (elementIterator.hasNext()) {
-					Matcher<T> matcher = elementIterator.next();
-					if (matcher.matches(element)) {
-						elementIterator.remove();
-						continue nextItem;
+		if (anyOrder && exactly) {
+			BipartiteMatching matching = index.matching(item.length);
+			for (int i = 0; i < item.length; i++) {
+				index.connect(matching, i, item[i], item[i]);
+			}
+			return matching.solve() == elements.size();
+		} else if (anyOrder) {
+			Scratch consumed = scratch.acquire(elements.size());
+			try {
+				for (int i = 0; i < item.length; i++) {
+					if (!index.tryMatch(consumed, item[i], item[i])) {
+						return false;
 					}
 				}
-				return false;
+				return true;
+			} finally {
+				consumed.release();
 			}
-			return pending.isEmpty();
 		} else {
-			Iterator<Matcher<T>> elementIterator = elements.iterator();
-			Iterator<? extends T> itemIterator = Arrays.asList(item).iterator();
-			while (elementIterator.hasNext() && itemIterator.hasNext()) {
-				Matcher<T> matcher = elementIterator.next();
-				T element = itemIterator.next();
-				if (!matcher.matches(element)) {
+			for (int lo = 0, hi = item.length - 1; lo <= hi; lo++, hi--) {
+				if (!elements.get(lo).matches(item[lo])) {
+					return false;
+				}
+				if (hi != lo && !elements.get(hi).matches(item[hi])) {
 					return false;
 				}
 			}
@@ -176,4 +178,9 @@ public class ArrayMatcher<T> extends TypeSafeMatcher<T[]> {
 		return this;
 	}
 
+	public ArrayMatcher<T> exactly() {
+		this.exactly = true;
+		return this;
+	}
+
 }
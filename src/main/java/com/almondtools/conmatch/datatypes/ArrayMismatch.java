@@ -0,0 +1,103 @@
+package com.almondtools.conmatch.datatypes;
+
+final class ArrayMismatch {
+
+	private ArrayMismatch() {
+	}
+
+	public static int mismatch(Object expected, Object actual, int from, int to) {
+		Class<?> type = expected.getClass().getComponentType();
+		if (type == boolean.class) {
+			return mismatch((boolean[]) expected, (boolean[]) actual, from, to);
+		} else if (type == char.class) {
+			return mismatch((char[]) expected, (char[]) actual, from, to);
+		} else if (type == byte.class) {
+			return mismatch((byte[]) expected, (byte[]) actual, from, to);
+		} else if (type == short.class) {
+			return mismatch((short[]) expected, (short[]) actual, from, to);
+		} else if (type == int.class) {
+			return mismatch((int[]) expected, (int[]) actual, from, to);
+		} else if (type == float.class) {
+			return mismatch((float[]) expected, (float[]) actual, from, to);
+		} else if (type == long.class) {
+			return mismatch((long[]) expected, (long[]) actual, from, to);
+		} else if (type == double.class) {
+			return mismatch((double[]) expected, (double[]) actual, from, to);
+		} else {
+			throw new IllegalArgumentException("not a primitive array: " + expected.getClass());
+		}
+	}
+
+	public static int mismatch(boolean[] expected, boolean[] actual, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (expected[i] != actual[i]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int mismatch(char[] expected, char[] actual, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (expected[i] != actual[i]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int mismatch(byte[] expected, byte[] actual, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (expected[i] != actual[i]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int mismatch(short[] expected, short[] actual, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (expected[i] != actual[i]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int mismatch(int[] expected, int[] actual, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (expected[i] != actual[i]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int mismatch(float[] expected, float[] actual, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (Float.floatToIntBits(expected[i]) != Float.floatToIntBits(actual[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int mismatch(long[] expected, long[] actual, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (expected[i] != actual[i]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int mismatch(double[] expected, double[] actual, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (Double.doubleToLongBits(expected[i]) != Double.doubleToLongBits(actual[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
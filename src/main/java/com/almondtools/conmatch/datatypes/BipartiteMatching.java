@@ -0,0 +1,208 @@
+package com.almondtools.conmatch.datatypes;
+
+import java.util.Arrays;
+
+class BipartiteMatching {
+
+	private static final int FREE = -1;
+	private static final int INFINITE = Integer.MAX_VALUE;
+
+	private int left;
+	private int right;
+	private int[][] edges;
+	private int[] degree;
+	private int[] capacity;
+
+	private int[] matchLeft;
+	private int[] used;
+	private int[] first;
+	private int[] next;
+	private int[] previous;
+	private int[] dist;
+	private int[] queue;
+	private int[] expanded;
+	private int phase;
+	private int[] stack;
+	private int[] path;
+	private int[] cursor;
+	private int[] member;
+
+	public BipartiteMatching(int left, int right) {
+		this.left = left;
+		this.right = right;
+		this.edges = new int[left][];
+		this.degree = new int[left];
+		this.capacity = new int[right];
+		Arrays.fill(capacity, 1);
+	}
+
+	public void connect(int l, int r) {
+		int[] row = edges[l];
+		if (row == null) {
+			row = new int[2];
+			edges[l] = row;
+		} else if (degree[l] == row.length) {
+			row = Arrays.copyOf(row, row.length * 2);
+			edges[l] = row;
+		}
+		row[degree[l]++] = r;
+	}
+
+	public boolean connected(int l, int r) {
+		for (int e = 0; e < degree[l]; e++) {
+			if (edges[l][e] == r) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void capacity(int r, int capacity) {
+		this.capacity[r] = capacity;
+	}
+
+	public int solve() {
+		matchLeft = new int[left];
+		used = new int[right];
+		first = new int[right];
+		next = new int[left];
+		previous = new int[left];
+		dist = new int[left];
+		queue = new int[left];
+		expanded = new int[right];
+		stack = new int[left];
+		path = new int[left];
+		cursor = new int[left];
+		member = new int[left];
+		Arrays.fill(matchLeft, FREE);
+		Arrays.fill(first, FREE);
+		int size = 0;
+		while (layer()) {
+			for (int l = 0; l < left; l++) {
+				if (matchLeft[l] == FREE && augment(l)) {
+					size++;
+				}
+			}
+		}
+		return size;
+	}
+
+	public int matchOf(int l) {
+		return matchLeft[l];
+	}
+
+	private boolean layer() {
+		phase++;
+		int head = 0;
+		int tail = 0;
+		for (int l = 0; l < left; l++) {
+			if (matchLeft[l] == FREE) {
+				dist[l] = 0;
+				queue[tail++] = l;
+			} else {
+				dist[l] = INFINITE;
+			}
+		}
+		boolean found = false;
+		while (head < tail) {
+			int l = queue[head++];
+			int[] row = edges[l];
+			for (int e = 0; e < degree[l]; e++) {
+				int r = row[e];
+				if (used[r] < capacity[r]) {
+					found = true;
+				} else if (expanded[r] != phase) {
+					expanded[r] = phase;
+					for (int m = first[r]; m != FREE; m = next[m]) {
+						if (dist[m] == INFINITE) {
+							dist[m] = dist[l] + 1;
+							queue[tail++] = m;
+						}
+					}
+				}
+			}
+		}
+		return found;
+	}
+
+	private boolean augment(int root) {
+		int depth = 0;
+		push(0, root);
+		while (depth >= 0) {
+			int l = stack[depth];
+			int e = cursor[depth];
+			if (e >= degree[l]) {
+				dist[l] = INFINITE;
+				depth--;
+				continue;
+			}
+			int r = edges[l][e];
+			int m;
+			if (member[depth] == FREE) {
+				if (used[r] < capacity[r]) {
+					path[depth] = r;
+					flip(depth);
+					return true;
+				}
+				m = first[r];
+			} else {
+				m = next[member[depth]];
+			}
+			while (m != FREE && dist[m] != dist[l] + 1) {
+				m = next[m];
+			}
+			if (m == FREE) {
+				cursor[depth]++;
+				member[depth] = FREE;
+				continue;
+			}
+			member[depth] = m;
+			path[depth] = r;
+			depth++;
+			push(depth, m);
+		}
+		return false;
+	}
+
+	private void push(int depth, int l) {
+		stack[depth] = l;
+		cursor[depth] = 0;
+		member[depth] = FREE;
+	}
+
+	private void flip(int depth) {
+		for (int d = depth; d >= 0; d--) {
+			int l = stack[d];
+			if (matchLeft[l] != FREE) {
+				unlink(l);
+			}
+			link(l, path[d]);
+		}
+	}
+
+	private void link(int l, int r) {
+		matchLeft[l] = r;
+		used[r]++;
+		previous[l] = FREE;
+		next[l] = first[r];
+		if (first[r] != FREE) {
+			previous[first[r]] = l;
+		}
+		first[r] = l;
+	}
+
+	private void unlink(int l) {
+		int r = matchLeft[l];
+		used[r]--;
+		if (previous[l] == FREE) {
+			first[r] = next[l];
+		} else {
+			next[previous[l]] = next[l];
+		}
+		if (next[l] != FREE) {
+			previous[next[l]] = previous[l];
+		}
+		matchLeft[l] = FREE;
+	}
+
+}
@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import org.hamcrest.Description;
@@ -18,12 +19,17 @@ import org.hamcrest.core.IsNull;
 
 public class ContainsInOrderMatcher<T> extends TypeSafeMatcher<Collection<? extends T>> {
 
+	public static final int DEFAULT_MAXIMUM_HUNKS = 10;
+	private static final int MAX_HUNK_ELEMENTS = 10;
+
 	private Class<T> type;
 	private List<Matcher<T>> elements;
+	private int maximumHunks;
 
 	public ContainsInOrderMatcher(Class<T> type) {
 		this.type = type;
 		this.elements = new ArrayList<>();
+		this.maximumHunks = DEFAULT_MAXIMUM_HUNKS;
 	}
 
 	public ContainsInOrderMatcher<T> element(T element) {
@@ -35,6 +41,22 @@ public class ContainsInOrderMatcher<T> extends TypeSafeMatcher<Collection<? exte
 		return this;
 	}
 
+	public ContainsInOrderMatcher<T> withMaximumHunks(int maximumHunks) {
+		if (maximumHunks < 0) {
+			throw new IllegalArgumentException("maximum hunks must not be negative: " + maximumHunks);
+		}
+		this.maximumHunks = maximumHunks;
+		return this;
+	}
+
+	int size() {
+		return elements.size();
+	}
+
+	Matcher<T> get(int i) {
+		return elements.get(i);
+	}
+
 	private Matcher<T> match(T element) {
 		if (element == null) {
 			return nullValue(type);
@@ -50,48 +72,57 @@ public class ContainsInOrderMatcher<T> extends TypeSafeMatcher<Collection<? exte
 
 	@Override
 	protected void describeMismatchSafely(Collection<? extends T> item, Description mismatchDescription) {
-		Matches<T> matches = new Matches<>();
+		final List<? extends T> items = item instanceof List && item instanceof RandomAccess ? (List<? extends T>) item : new ArrayList<>(item);
+		Diff diff = new Diff(new Diff.Equality() {
 
-		Iterator<Matcher<T>> elementIterator = elements.iterator();
-		Iterator<? extends T> itemIterator = item.iterator();
-		while (elementIterator.hasNext() && itemIterator.hasNext()) {
-			Matcher<T> matcher = elementIterator.next();
-			T element = itemIterator.next();
-			if (!matcher.matches(element)) {
-				matches.mismatch(matcher, element);
-			} else {
-				matches.match();
+			@Override
+			public boolean equal(int expected, int actual) {
+				return elements.get(expected).matches(items.get(actual));
 			}
+		}, maximumHunks);
+		List<Diff.Hunk> hunks = diff.compare(elements.size(), items.size());
+
+		Matches<T> matches = new Matches<T>().summarizingRuns();
+		int next = 0;
+		for (Diff.Hunk hunk : hunks.subList(0, Math.min(hunks.size(), maximumHunks))) {
+			matches.match(hunk.getActualStart() - next);
+			describeHunk(hunk, items, matches);
+			next = hunk.getActualEnd();
 		}
-		if (elementIterator.hasNext()) {
-			int count = count(elementIterator);
-			matches.mismatch("missing " + count + " elements");
-		}
-		if (itemIterator.hasNext()) {
-			List<T> items = collect(itemIterator);
-			matches.mismatch("found " + items.size() + " elements surplus " + toDescriptionSet(items));
+		if (diff.isTruncated()) {
+			matches.mismatch("further differences after " + next + " elements omitted");
+		} else {
+			matches.match(items.size() - next);
 		}
-		
+
 		if (matches.containsMismatches()) {
 			mismatchDescription.appendText("mismatching elements ").appendDescriptionOf(matches);
 		}
 	}
 
-	private int count(Iterator<?> iterator) {
-		int count = 0;
-		while (iterator.hasNext()) {
-			iterator.next();
-			count++;
+	private void describeHunk(Diff.Hunk hunk, List<? extends T> items, Matches<T> matches) {
+		int expected = hunk.getExpectedStart();
+		int actual = hunk.getActualStart();
+		int changed = 0;
+		while (expected < hunk.getExpectedEnd() && actual < hunk.getActualEnd() && changed < MAX_HUNK_ELEMENTS) {
+			matches.mismatch(elements.get(expected), items.get(actual));
+			expected++;
+			actual++;
+			changed++;
 		}
-		return count;
-	}
-
-	private List<T> collect(Iterator<? extends T> iterator) {
-		List<T> collected = new ArrayList<>();
-		while (iterator.hasNext()) {
-			collected.add(iterator.next());
+		int changes = Math.min(hunk.getExpectedEnd() - expected, hunk.getActualEnd() - actual);
+		if (changes > 0) {
+			matches.mismatch(changes + " more elements changed");
+			expected += changes;
+			actual += changes;
+		}
+		if (expected < hunk.getExpectedEnd()) {
+			matches.mismatch("missing " + (hunk.getExpectedEnd() - expected) + " elements");
+		}
+		if (actual < hunk.getActualEnd()) {
+			List<T> surplus = new ArrayList<>(items.subList(actual, Math.min(hunk.getActualEnd(), actual + MAX_HUNK_ELEMENTS)));
+			matches.mismatch("found " + (hunk.getActualEnd() - actual) + " elements surplus " + toDescriptionSet(surplus));
 		}
-		return collected;
 	}
 
 	private Set<String> toDescriptionSet(List<T> elements) {
@@ -125,6 +156,18 @@ public class ContainsInOrderMatcher<T> extends TypeSafeMatcher<Collection<? exte
 			return false;
 		}
 
+		if (item instanceof List && item instanceof RandomAccess) {
+			List<? extends T> list = (List<? extends T>) item;
+			for (int lo = 0, hi = list.size() - 1; lo <= hi; lo++, hi--) {
+				if (!elements.get(lo).matches(list.get(lo))) {
+					return false;
+				}
+				if (hi != lo && !elements.get(hi).matches(list.get(hi))) {
+					return false;
+				}
+			}
+			return true;
+		}
 		Iterator<Matcher<T>> elementIterator = elements.iterator();
 		Iterator<? extends T> itemIterator = item.iterator();
 		while (elementIterator.hasNext() && itemIterator.hasNext()) {
@@ -4,12 +4,17 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNull.nullValue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -19,23 +24,57 @@ import org.hamcrest.core.IsNull;
 
 public class ContainsMatcher<T> extends TypeSafeMatcher<Collection<? extends T>> {
 
+	private static final int PARALLEL_THRESHOLD = 1024;
+
 	private Class<T> type;
 	private List<Matcher<T>> elements;
+	private SlotIndex<T, T> index;
+	private boolean exactly;
+	private boolean parallel;
+	private Scratch.Local scratch;
 
 	public ContainsMatcher(Class<T> type) {
 		this.type = type;
 		this.elements = new ArrayList<>();
+		this.index = new SlotIndex<>(true, new SlotIndex.Acceptor<T>() {
+
+			@Override
+			public boolean accepts(int slot, T element) {
+				return elements.get(slot).matches(element);
+			}
+		});
+		this.scratch = new Scratch.Local();
 	}
 
 	public ContainsMatcher<T> and(T element) {
-		return and(match(element));
+		if (element != null && element.getClass().isArray()) {
+			return and(match(element));
+		}
+		index.addValue(element);
+		elements.add(match(element));
+		return this;
 	}
 
 	public ContainsMatcher<T> and(Matcher<T> element) {
+		index.addMatcher();
 		elements.add(element);
 		return this;
 	}
 
+	int size() {
+		return elements.size();
+	}
+
+	public ContainsMatcher<T> exactly() {
+		this.exactly = true;
+		return this;
+	}
+
+	public ContainsMatcher<T> inParallel() {
+		this.parallel = true;
+		return this;
+	}
+
 	private Matcher<T> match(T element) {
 		if (element == null) {
 			return nullValue(type);
@@ -51,15 +90,21 @@ public class ContainsMatcher<T> extends TypeSafeMatcher<Collection<? extends T>>
 
 	@Override
 	protected void describeMismatchSafely(Collection<? extends T> item, Description mismatchDescription) {
-		List<Matcher<T>> unmatched = new LinkedList<>(elements);
+		if (exactly) {
+			describeExactMismatch(item, mismatchDescription);
+			return;
+		}
+		Scratch consumed = new Scratch(elements.size());
 		Matches<T> matches = new Matches<>();
 		List<T> notExpected = new ArrayList<>();
+		int matched = 0;
 
 		for (T element : item) {
 
-			boolean success = tryMatch(unmatched, element);
+			boolean success = tryMatch(consumed, element);
 			if (success) {
 				matches.match();
+				matched++;
 			} else {
 				notExpected.add(element);
 			}
@@ -68,12 +113,45 @@ public class ContainsMatcher<T> extends TypeSafeMatcher<Collection<? extends T>>
 		if (!notExpected.isEmpty()) {
 			matches.mismatch("found " + notExpected.size() + " elements surplus " + toDescriptionSet(notExpected));
 		}
-		if (!unmatched.isEmpty()) {
-			matches.mismatch("missing " + unmatched.size() + " elements");
+		if (matched < elements.size()) {
+			matches.mismatch("missing " + (elements.size() - matched) + " elements");
 		}
 		mismatchDescription.appendText("mismatching elements ").appendDescriptionOf(matches);
 	}
 
+	private void describeExactMismatch(Collection<? extends T> item, Description mismatchDescription) {
+		List<T> items = new ArrayList<T>(item);
+		BipartiteMatching matching = compatibility(items);
+		int matched = matching.solve();
+		Matches<T> matches = new Matches<>();
+		List<T> notExpected = new ArrayList<>();
+
+		for (int i = 0; i < items.size(); i++) {
+			if (matching.matchOf(i) >= 0) {
+				matches.match();
+			} else {
+				notExpected.add(items.get(i));
+			}
+		}
+
+		if (!notExpected.isEmpty()) {
+			matches.mismatch("found " + notExpected.size() + " elements surplus " + toDescriptionSet(notExpected));
+		}
+		if (matched < elements.size()) {
+			matches.mismatch("missing " + (elements.size() - matched) + " elements");
+		}
+		mismatchDescription.appendText("mismatching elements ").appendDescriptionOf(matches);
+	}
+
+	private BipartiteMatching compatibility(List<T> items) {
+		BipartiteMatching matching = index.matching(items.size());
+		for (int i = 0; i < items.size(); i++) {
+			T element = items.get(i);
+			index.connect(matching, i, element, element);
+		}
+		return matching;
+	}
+
 	private Set<String> toDescriptionSet(List<T> elements) {
 		Matcher<T> matcher = bestMatcher();
 		Set<String> set = new LinkedHashSet<>();
@@ -101,28 +179,67 @@ public class ContainsMatcher<T> extends TypeSafeMatcher<Collection<? extends T>>
 
 	@Override
 	protected boolean matchesSafely(Collection<? extends T> item) {
-		List<Matcher<T>> unmatched = new LinkedList<>(elements);
-
-		for (T element : item) {
-			boolean success = tryMatch(unmatched, element);
-			if (!success) {
-				return false;
+		if (item.size() != elements.size()) {
+			return false;
+		}
+		if (parallel) {
+			return matchesInParallel(item);
+		}
+		if (exactly) {
+			return compatibility(new ArrayList<T>(item)).solve() == elements.size();
+		}
+		Scratch consumed = scratch.acquire(elements.size());
+		try {
+			if (item instanceof List && item instanceof RandomAccess) {
+				List<? extends T> list = (List<? extends T>) item;
+				for (int i = 0; i < list.size(); i++) {
+					if (!tryMatch(consumed, list.get(i))) {
+						return false;
+					}
+				}
+			} else {
+				for (T element : item) {
+					if (!tryMatch(consumed, element)) {
+						return false;
+					}
+				}
 			}
+			return true;
+		} finally {
+			consumed.release();
 		}
-
-		return unmatched.isEmpty();
 	}
 
-	private boolean tryMatch(List<Matcher<T>> unmatched, T element) {
-		Iterator<Matcher<T>> matchers = unmatched.iterator();
-		while (matchers.hasNext()) {
-			Matcher<T> matcher = matchers.next();
-			if (matcher.matches(element)) {
-				matchers.remove();
-				return true;
+	private boolean matchesInParallel(Collection<? extends T> item) {
+		AtomicBoolean impossible = new AtomicBoolean();
+		List<Chunk> chunks = ForkJoinPool.commonPool().invoke(new Candidates(item.spliterator(), impossible));
+		if (impossible.get()) {
+			return false;
+		}
+		if (exactly) {
+			BipartiteMatching matching = index.matching(item.size());
+			int i = 0;
+			for (Chunk chunk : chunks) {
+				for (int j = 0; j < chunk.size(); j++) {
+					chunk.connect(j, matching, i);
+					i++;
+				}
 			}
+			return matching.solve() == elements.size();
 		}
-		return false;
+		Scratch consumed = new Scratch(elements.size());
+		for (Chunk chunk : chunks) {
+			for (int j = 0; j < chunk.size(); j++) {
+				if (!chunk.assign(j, consumed)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	boolean tryMatch(Scratch consumed, T element) {
+		return index.tryMatch(consumed, element, element);
 	}
 
 	public static <T> ContainsMatcher<T> empty(Class<T> type) {
@@ -143,4 +260,135 @@ public class ContainsMatcher<T> extends TypeSafeMatcher<Collection<? extends T>>
 		return set;
 	}
 
+	private class Candidates extends RecursiveTask<List<Chunk>> {
+
+		private Spliterator<? extends T> spliterator;
+		private AtomicBoolean impossible;
+
+		public Candidates(Spliterator<? extends T> spliterator, AtomicBoolean impossible) {
+			this.spliterator = spliterator;
+			this.impossible = impossible;
+		}
+
+		@Override
+		protected List<Chunk> compute() {
+			Spliterator<? extends T> prefix = spliterator.estimateSize() > PARALLEL_THRESHOLD ? spliterator.trySplit() : null;
+			if (prefix == null) {
+				Chunk chunk = new Chunk(impossible);
+				while (!impossible.get() && spliterator.tryAdvance(chunk)) {
+				}
+				List<Chunk> chunks = new ArrayList<>();
+				chunks.add(chunk);
+				return chunks;
+			}
+			Candidates left = new Candidates(prefix, impossible);
+			left.fork();
+			List<Chunk> right = new Candidates(spliterator, impossible).compute();
+			List<Chunk> chunks = left.join();
+			chunks.addAll(right);
+			return chunks;
+		}
+
+	}
+
+	private class Chunk implements Consumer<T> {
+
+		private static final int UNSCANNED = -2;
+		private static final int NONE = -1;
+
+		private AtomicBoolean impossible;
+		private List<Integer> matchers;
+		private int words;
+		private List<T> items;
+		private int[] first;
+		private long[] compatible;
+
+		public Chunk(AtomicBoolean impossible) {
+			this.impossible = impossible;
+			this.matchers = index.matcherSlots();
+			this.words = (matchers.size() + 63) >>> 6;
+			this.items = new ArrayList<>();
+			if (exactly) {
+				this.compatible = new long[words * 16];
+			} else {
+				this.first = new int[16];
+			}
+		}
+
+		public int size() {
+			return items.size();
+		}
+
+		@Override
+		public void accept(T element) {
+			boolean found = index.valueSlots(element) != null;
+			boolean possible = exactly ? connectAll(element) : findFirst(element, found);
+			if (!possible && !found) {
+				impossible.set(true);
+			}
+			items.add(element);
+		}
+
+		private boolean connectAll(T element) {
+			int offset = items.size() * words;
+			if (offset + words > compatible.length) {
+				compatible = Arrays.copyOf(compatible, compatible.length * 2);
+			}
+			boolean possible = false;
+			for (int k = 0; k < matchers.size(); k++) {
+				if (elements.get(matchers.get(k)).matches(element)) {
+					compatible[offset + (k >>> 6)] |= 1L << k;
+					possible = true;
+				}
+			}
+			return possible;
+		}
+
+		private boolean findFirst(T element, boolean lazy) {
+			int j = items.size();
+			if (j >= first.length) {
+				first = Arrays.copyOf(first, first.length * 2);
+			}
+			if (lazy) {
+				first[j] = UNSCANNED;
+				return true;
+			}
+			for (int k = 0; k < matchers.size(); k++) {
+				if (elements.get(matchers.get(k)).matches(element)) {
+					first[j] = k;
+					return true;
+				}
+			}
+			first[j] = NONE;
+			return false;
+		}
+
+		private boolean compatible(int j, int k) {
+			return (compatible[j * words + (k >>> 6)] & 1L << k) != 0;
+		}
+
+		public boolean assign(int j, Scratch consumed) {
+			T element = items.get(j);
+			if (index.tryMatchValue(consumed, element, element)) {
+				return true;
+			}
+			int from = first[j];
+			if (from == NONE) {
+				return false;
+			}
+			return index.tryMatchMatcher(consumed, Math.max(from, 0), from >= 0, element);
+		}
+
+		public void connect(int j, BipartiteMatching matching, int i) {
+			T element = items.get(j);
+			index.connectValue(matching, i, element, element);
+			for (int k = 0; k < matchers.size(); k++) {
+				if (compatible(j, k)) {
+					matching.connect(i, matchers.get(k));
+				}
+			}
+		}
+
+	}
+
 }
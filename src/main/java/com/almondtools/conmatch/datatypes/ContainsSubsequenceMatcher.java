@@ -0,0 +1,97 @@
+package com.almondtools.conmatch.datatypes;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+public class ContainsSubsequenceMatcher<T> extends TypeSafeMatcher<Collection<? extends T>> {
+
+	private Class<T> type;
+	private List<Matcher<T>> elements;
+
+	public ContainsSubsequenceMatcher(Class<T> type) {
+		this.type = type;
+		this.elements = new ArrayList<>();
+	}
+
+	public ContainsSubsequenceMatcher<T> element(T element) {
+		return element(match(element));
+	}
+
+	public ContainsSubsequenceMatcher<T> element(Matcher<T> element) {
+		elements.add(element);
+		return this;
+	}
+
+	private Matcher<T> match(T element) {
+		if (element == null) {
+			return nullValue(type);
+		} else {
+			return equalTo(element);
+		}
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		description.appendText("subsequence ").appendValue(elements);
+	}
+
+	@Override
+	protected void describeMismatchSafely(Collection<? extends T> item, Description mismatchDescription) {
+		int reached = reached(item);
+		mismatchDescription.appendText("matched " + reached + " of " + elements.size() + " elements in order, no match for ")
+			.appendDescriptionOf(elements.get(reached))
+			.appendText(" in " + item.size() + " elements");
+	}
+
+	@Override
+	protected boolean matchesSafely(Collection<? extends T> item) {
+		return reached(item) == elements.size();
+	}
+
+	private int reached(Collection<? extends T> item) {
+		int size = elements.size();
+		int next = 0;
+		if (item instanceof List && item instanceof RandomAccess) {
+			List<? extends T> list = (List<? extends T>) item;
+			for (int i = 0; i < list.size() && next < size; i++) {
+				if (elements.get(next).matches(list.get(i))) {
+					next++;
+				}
+			}
+		} else {
+			for (T element : item) {
+				if (next == size) {
+					break;
+				}
+				if (elements.get(next).matches(element)) {
+					next++;
+				}
+			}
+		}
+		return next;
+	}
+
+	@SuppressWarnings("unchecked")
+	@SafeVarargs
+	public static <T> ContainsSubsequenceMatcher<T> containsSubsequence(Class<T> key, Object... elements) {
+		ContainsSubsequenceMatcher<T> set = new ContainsSubsequenceMatcher<>(key);
+		for (Object element : elements) {
+			if (element instanceof Matcher) {
+				set.element((Matcher<T>) element);
+			} else {
+				set.element(key.cast(element));
+			}
+		}
+		return set;
+	}
+
+}
@@ -0,0 +1,186 @@
+package com.almondtools.conmatch.datatypes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class Diff {
+
+	static final int COST_FACTOR = 16;
+	static final int MINIMUM_COST = 1 << 16;
+
+	private Equality equality;
+	private int maximumHunks;
+	private List<Hunk> hunks;
+	private long budget;
+
+	public Diff(Equality equality, int maximumHunks) {
+		this.equality = equality;
+		this.maximumHunks = maximumHunks;
+		this.hunks = new ArrayList<>();
+	}
+
+	public List<Hunk> compare(int expected, int actual) {
+		budget = COST_FACTOR * ((long) expected + actual) + MINIMUM_COST;
+		compare(0, expected, 0, actual);
+		return hunks;
+	}
+
+	public boolean isTruncated() {
+		return hunks.size() > maximumHunks;
+	}
+
+	private void compare(int aStart, int aEnd, int bStart, int bEnd) {
+		if (isTruncated()) {
+			return;
+		}
+		while (aStart < aEnd && bStart < bEnd && equality.equal(aStart, bStart)) {
+			aStart++;
+			bStart++;
+		}
+		while (aStart < aEnd && bStart < bEnd && equality.equal(aEnd - 1, bEnd - 1)) {
+			aEnd--;
+			bEnd--;
+		}
+		if (aStart == aEnd || bStart == bEnd) {
+			add(aStart, aEnd, bStart, bEnd);
+			return;
+		}
+		int[] split = bisect(aStart, aEnd, bStart, bEnd);
+		if (split == null) {
+			add(aStart, aEnd, bStart, bEnd);
+			return;
+		}
+		compare(aStart, split[0], bStart, split[1]);
+		compare(split[0], aEnd, split[1], bEnd);
+	}
+
+	private void add(int aStart, int aEnd, int bStart, int bEnd) {
+		if (aStart == aEnd && bStart == bEnd) {
+			return;
+		}
+		if (!hunks.isEmpty()) {
+			Hunk last = hunks.get(hunks.size() - 1);
+			if (last.expectedEnd == aStart && last.actualEnd == bStart) {
+				last.expectedEnd = aEnd;
+				last.actualEnd = bEnd;
+				return;
+			}
+		}
+		hunks.add(new Hunk(aStart, aEnd, bStart, bEnd));
+	}
+
+	private int[] bisect(int aStart, int aEnd, int bStart, int bEnd) {
+		int n = aEnd - aStart;
+		int m = bEnd - bStart;
+		int maxD = (n + m + 1) / 2;
+		int offset = maxD;
+		int length = 2 * maxD + 2;
+		int[] forward = new int[length];
+		int[] backward = new int[length];
+		Arrays.fill(forward, -1);
+		Arrays.fill(backward, -1);
+		forward[offset + 1] = 0;
+		backward[offset + 1] = 0;
+		int delta = n - m;
+		boolean front = (delta & 1) != 0;
+		int k1start = 0;
+		int k1end = 0;
+		int k2start = 0;
+		int k2end = 0;
+		for (int d = 0; d < maxD; d++) {
+			for (int k1 = -d + k1start; k1 <= d - k1end; k1 += 2) {
+				int k1offset = offset + k1;
+				int x1 = k1 == -d || k1 != d && forward[k1offset - 1] < forward[k1offset + 1] ? forward[k1offset + 1] : forward[k1offset - 1] + 1;
+				int y1 = x1 - k1;
+				if (--budget < 0) {
+					return null;
+				}
+				while (x1 < n && y1 < m && equality.equal(aStart + x1, bStart + y1)) {
+					x1++;
+					y1++;
+					budget--;
+				}
+				forward[k1offset] = x1;
+				if (x1 > n) {
+					k1end += 2;
+				} else if (y1 > m) {
+					k1start += 2;
+				} else if (front) {
+					int k2offset = offset + delta - k1;
+					if (k2offset >= 0 && k2offset < length && backward[k2offset] != -1 && x1 >= n - backward[k2offset]) {
+						return new int[] { aStart + x1, bStart + y1 };
+					}
+				}
+			}
+			for (int k2 = -d + k2start; k2 <= d - k2end; k2 += 2) {
+				int k2offset = offset + k2;
+				int x2 = k2 == -d || k2 != d && backward[k2offset - 1] < backward[k2offset + 1] ? backward[k2offset + 1] : backward[k2offset - 1] + 1;
+				int y2 = x2 - k2;
+				if (--budget < 0) {
+					return null;
+				}
+				while (x2 < n && y2 < m && equality.equal(aEnd - x2 - 1, bEnd - y2 - 1)) {
+					x2++;
+					y2++;
+					budget--;
+				}
+				backward[k2offset] = x2;
+				if (x2 > n) {
+					k2end += 2;
+				} else if (y2 > m) {
+					k2start += 2;
+				} else if (!front) {
+					int k1offset = offset + delta - k2;
+					if (k1offset >= 0 && k1offset < length && forward[k1offset] != -1) {
+						int x1 = forward[k1offset];
+						int y1 = offset + x1 - k1offset;
+						if (x1 >= n - x2) {
+							return new int[] { aStart + x1, bStart + y1 };
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	interface Equality {
+
+		boolean equal(int expected, int actual);
+
+	}
+
+	static class Hunk {
+
+		private int expectedStart;
+		private int expectedEnd;
+		private int actualStart;
+		private int actualEnd;
+
+		public Hunk(int expectedStart, int expectedEnd, int actualStart, int actualEnd) {
+			this.expectedStart = expectedStart;
+			this.expectedEnd = expectedEnd;
+			this.actualStart = actualStart;
+			this.actualEnd = actualEnd;
+		}
+
+		public int getExpectedStart() {
+			return expectedStart;
+		}
+
+		public int getExpectedEnd() {
+			return expectedEnd;
+		}
+
+		public int getActualStart() {
+			return actualStart;
+		}
+
+		public int getActualEnd() {
+			return actualEnd;
+		}
+
+	}
+
+}
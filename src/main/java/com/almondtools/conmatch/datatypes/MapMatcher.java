@@ -4,7 +4,7 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNull.nullValue;
 
 import java.util.AbstractMap;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -21,16 +21,27 @@ public class MapMatcher<K,V> extends TypeSafeMatcher<Map<K,V>>{
 	
 	private Class<K> key;
 	private Class<V> value;
-	private Map<Matcher<K>,Matcher<V>> entries;
+	private List<Entry<Matcher<K>, Matcher<V>>> expected;
+	private SlotIndex<K, Entry<K, V>> index;
+	private Scratch.Local scratch;
 	
 	public MapMatcher(Class<K> key, Class<V> value) {
 		this.key = key;
 		this.value = value;
-		this.entries = new LinkedHashMap<>();
+		this.expected = new ArrayList<>();
+		this.index = new SlotIndex<>(false, new SlotIndex.Acceptor<Entry<K, V>>() {
+
+			@Override
+			public boolean accepts(int slot, Entry<K, V> element) {
+				Entry<Matcher<K>, Matcher<V>> entry = expected.get(slot);
+				return entry.getKey().matches(element.getKey()) && entry.getValue().matches(element.getValue());
+			}
+		});
+		this.scratch = new Scratch.Local();
 	}
 
 	public MapMatcher<K,V> entry(K key, V value) {
-		return entry(matchKey(key), matchValue(value));
+		return entry(key, matchValue(value));
 	}
 
 	public MapMatcher<K,V> entry(Matcher<K> key, V value) {
@@ -38,11 +49,20 @@ public class MapMatcher<K,V> extends TypeSafeMatcher<Map<K,V>>{
 	}
 
 	public MapMatcher<K,V> entry(K key, Matcher<V> value) {
-		return entry(matchKey(key), value);
+		if (key instanceof Matcher<?> || key != null && key.getClass().isArray()) {
+			return entry(matchKey(key), value);
+		}
+		index.addValue(key);
+		return add(matchKey(key), value);
 	}
 
 	public MapMatcher<K,V> entry(Matcher<K> key, Matcher<V> value) {
-		entries.put(key, value);
+		index.addMatcher();
+		return add(key, value);
+	}
+
+	private MapMatcher<K,V> add(Matcher<K> key, Matcher<V> value) {
+		expected.add(new AbstractMap.SimpleImmutableEntry<>(key, value));
 		return this;
 	}
 	
@@ -70,24 +90,30 @@ public class MapMatcher<K,V> extends TypeSafeMatcher<Map<K,V>>{
 	
 	@Override
 	public void describeTo(Description description) {
-		description.appendValue(entries);
+		description.appendText("<").appendText(toString(expected)).appendText(">");
 	}
 	
 	@Override
 	protected void describeMismatchSafely(Map<K, V> item, Description mismatchDescription) {
-		List<Entry<Matcher<K>, Matcher<V>>> unmatched = new LinkedList<>(entries.entrySet());
+		Scratch consumed = new Scratch(expected.size());
 		List<Entry<K, V>> notfound = new LinkedList<>();
 		
 		for (Entry<K, V> entry : item.entrySet()) {
 		
-			boolean success = tryMatch(unmatched, entry);
+			boolean success = tryMatch(consumed, entry);
 			if (!success) {
 				notfound.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue()));
 			}
 		}
+		List<Entry<Matcher<K>, Matcher<V>>> unmatched = new LinkedList<>();
+		for (int i = 0; i < expected.size(); i++) {
+			if (!consumed.isConsumed(i)) {
+				unmatched.add(expected.get(i));
+			}
+		}
 		
 		if (!unmatched.isEmpty()) {
-			mismatchDescription.appendText("missing entries ").appendValue(toMap(unmatched));
+			mismatchDescription.appendText("missing entries <").appendText(toString(unmatched)).appendText(">");
 		}
 		if (!unmatched.isEmpty() && !notfound.isEmpty()) {
 			mismatchDescription.appendText(", ");
@@ -97,12 +123,15 @@ public class MapMatcher<K,V> extends TypeSafeMatcher<Map<K,V>>{
 		}
 	}
 
-	private Map<Matcher<K>, Matcher<V>> toMap(List<Entry<Matcher<K>, Matcher<V>>> entries) {
-		Map<Matcher<K>, Matcher<V>> map = new LinkedHashMap<>();
+	private String toString(List<Entry<Matcher<K>, Matcher<V>>> entries) {
+		StringBuilder buffer = new StringBuilder("{");
 		for (Entry<Matcher<K>, Matcher<V>> entry : entries) {
-			map.put(entry.getKey(), entry.getValue());
+			if (buffer.length() > 1) {
+				buffer.append(", ");
+			}
+			buffer.append(entry.getKey()).append('=').append(entry.getValue());
 		}
-		return map;
+		return buffer.append('}').toString();
 	}
 
 	private Map<String, String> toDescriptionMap(List<Entry<K, V>> entries) {
@@ -118,7 +147,8 @@ public class MapMatcher<K,V> extends TypeSafeMatcher<Map<K,V>>{
 	}
 
 	private Matcher<V> bestValueMatcher() {
-		for (Matcher<V> matcher : entries.values()) {
+		for (Entry<Matcher<K>, Matcher<V>> entry : expected) {
+			Matcher<V> matcher = entry.getValue();
 			if (matcher.getClass() != IsNull.class) {
 				return matcher;
 			}
@@ -127,7 +157,8 @@ public class MapMatcher<K,V> extends TypeSafeMatcher<Map<K,V>>{
 	}
 
 	private Matcher<K> bestKeyMatcher() {
-		for (Matcher<K> matcher : entries.keySet()) {
+		for (Entry<Matcher<K>, Matcher<V>> entry : expected) {
+			Matcher<K> matcher = entry.getKey();
 			if (matcher.getClass() != IsNull.class) {
 				return matcher;
 			}
@@ -143,32 +174,25 @@ public class MapMatcher<K,V> extends TypeSafeMatcher<Map<K,V>>{
 
 	@Override
 	protected boolean matchesSafely(Map<K, V> item) {
-		List<Entry<Matcher<K>, Matcher<V>>> unmatched = new LinkedList<>(entries.entrySet());
-		
-		for (Entry<K, V> entry : item.entrySet()) {
-		
-			boolean success = tryMatch(unmatched, entry);
-			if (!success) {
-				return false;
+		if (item.size() != expected.size()) {
+			return false;
+		}
+		Scratch consumed = scratch.acquire(expected.size());
+		try {
+			for (Entry<K, V> entry : item.entrySet()) {
+				boolean success = tryMatch(consumed, entry);
+				if (!success) {
+					return false;
+				}
 			}
+			return true;
+		} finally {
+			consumed.release();
 		}
-		
-		return unmatched.isEmpty();
 	}
 
-	private boolean tryMatch(List<Entry<Matcher<K>, Matcher<V>>> unmatched, Entry<K, V> entry) {
-		K key = entry.getKey();
-		V value = entry.getValue();
-
-		Iterator<Entry<Matcher<K>, Matcher<V>>> matchers = unmatched.iterator();
-		while (matchers.hasNext()) {
-			Entry<Matcher<K>, Matcher<V>> matcher = matchers.next();
-			if (matcher.getKey().matches(key) && matcher.getValue().matches(value)) {
-				matchers.remove();
-				return true;
-			}
-		}
-		return false;
+	private boolean tryMatch(Scratch consumed, Entry<K, V> entry) {
+		return index.tryMatch(consumed, entry.getKey(), entry);
 	}
 
 	public static <K,V> MapMatcher<K, V> noEntries(Class<K> key, Class<V> value) {
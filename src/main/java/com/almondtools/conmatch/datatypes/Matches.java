@@ -13,12 +13,18 @@ public class Matches<T> implements SelfDescribing {
 
 	private Deque<Matching<T>> matches;
 	private boolean mismatches;
+	private boolean summarizing;
 
 	public Matches() {
 		this.matches = new LinkedList<>();
 		this.mismatches = false;
 	}
 
+	public Matches<T> summarizingRuns() {
+		this.summarizing = true;
+		return this;
+	}
+
 	public Matches<T> mismatch(Matcher<T> matcher, Object element) {
 		matches.add(new Mismatch<>(matcher, element));
 		mismatches = true;
@@ -32,11 +38,18 @@ public class Matches<T> implements SelfDescribing {
 	}
 
 	public Matches<T> match() {
-		Matching<T>  peek = matches.peek();
+		return match(1);
+	}
+
+	public Matches<T> match(int count) {
+		if (count <= 0) {
+			return this;
+		}
+		Matching<T> peek = matches.peekLast();
 		if (peek instanceof Match<?>) {
-			((Match<?>) peek).inc();;
+			((Match<?>) peek).inc(count);
 		} else {
-			matches.add(new Match<T>());
+			matches.add(new Match<T>(count, summarizing));
 		}
 		return this;
 	}
@@ -65,18 +78,26 @@ public class Matches<T> implements SelfDescribing {
 
 	private static class Match<T> extends Matching<T> {
 		
+		private static final int MAX_DOTS = 16;
+
 		private int count;
+		private boolean summarizing;
 
-		public Match() {
-			this.count = 1;
+		public Match(int count, boolean summarizing) {
+			this.count = count;
+			this.summarizing = summarizing;
 		}
 		
-		public void inc() {
-			count++;
+		public void inc(int count) {
+			this.count += count;
 		}
 
 		@Override
 		public void describeTo(Description description) {
+			if (summarizing && count > MAX_DOTS) {
+				description.appendText("... " + count + " matching ...");
+				return;
+			}
 			char[] text = new char[count];
 			Arrays.fill(text, '.');
 			description.appendText(new String(text));
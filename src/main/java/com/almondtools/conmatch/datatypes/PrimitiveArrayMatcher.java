@@ -1,20 +1,46 @@
 package com.almondtools.conmatch.datatypes;
 
+import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.hamcrest.Description;
-import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 
 import com.almondtools.conmatch.util.SimpleClass;
 
 public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 
-	private T array;
-	private boolean anyOrder;
+	private static final ThreadLocal<Buffers> BUFFERS = new ThreadLocal<Buffers>() {
+		@Override
+		protected Buffers initialValue() {
+			return new Buffers();
+		}
+	};
+
+	public static final int CHUNK_SIZE = 1 << 14;
+	static final int RETAINED_LENGTH = 1 << 20;
+	static final int HISTOGRAM_LENGTH = 1 << 12;
+	private static final int CONTEXT = 3;
+
+	private final T array;
+	private final boolean anyOrder;
+	private final int[] histogram;
+	private final Tolerance tolerance;
+	private final boolean parallel;
 
 	private PrimitiveArrayMatcher(T array) {
+		this(array, false, null, null, false);
+	}
+
+	private PrimitiveArrayMatcher(T array, boolean anyOrder, int[] histogram, Tolerance tolerance, boolean parallel) {
 		this.array = array;
+		this.anyOrder = anyOrder;
+		this.histogram = histogram;
+		this.tolerance = tolerance;
+		this.parallel = parallel;
 	}
 
 	public static PrimitiveArrayMatcher<boolean[]> booleanArrayContaining(boolean... items) {
@@ -37,7 +63,7 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 		return new PrimitiveArrayMatcher<>(items);
 	}
 
-	public static Matcher<float[]> floatArrayContaining(float... items) {
+	public static PrimitiveArrayMatcher<float[]> floatArrayContaining(float... items) {
 		return new PrimitiveArrayMatcher<>(items);
 	}
 
@@ -45,11 +71,39 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 		return new PrimitiveArrayMatcher<>(items);
 	}
 
-	public static Matcher<double[]> doubleArrayContaining(double... items) {
+	public static PrimitiveArrayMatcher<double[]> doubleArrayContaining(double... items) {
 		return new PrimitiveArrayMatcher<>(items);
 	}
 
+	public PrimitiveArrayMatcher<T> withAbsoluteTolerance(double epsilon) {
+		return withTolerance(Tolerance.absolute(epsilon));
+	}
+
+	public PrimitiveArrayMatcher<T> withRelativeTolerance(double epsilon) {
+		return withTolerance(Tolerance.relative(epsilon));
+	}
+
+	public PrimitiveArrayMatcher<T> withUlpTolerance(long ulps) {
+		return withTolerance(Tolerance.ulps(ulps));
+	}
+
+	private PrimitiveArrayMatcher<T> withTolerance(Tolerance tolerance) {
+		Class<?> type = array.getClass().getComponentType();
+		if (type != float.class && type != double.class) {
+			throw new IllegalStateException("tolerance is only supported for float and double arrays");
+		}
+		return new PrimitiveArrayMatcher<>(array, anyOrder, histogram, tolerance, parallel);
+	}
+
+	public PrimitiveArrayMatcher<T> inParallel() {
+		return new PrimitiveArrayMatcher<>(array, anyOrder, histogram, tolerance, true);
+	}
+
 	public PrimitiveArrayMatcher<T> inAnyOrder() {
+		if (anyOrder) {
+			return this;
+		}
+		T array = copy(this.array);
 		Class<?> type = array.getClass().getComponentType();
 		if (type == boolean.class) {
 			sort((boolean[]) array);
@@ -69,8 +123,46 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 			Arrays.sort((double[]) array);
 		}
 
-		this.anyOrder = true;
-		return this;
+		return new PrimitiveArrayMatcher<>(array, true, histogram(array), tolerance, parallel);
+	}
+
+	private static <T> T copy(T array) {
+		int length = Array.getLength(array);
+		@SuppressWarnings("unchecked")
+		T copy = (T) Array.newInstance(array.getClass().getComponentType(), length);
+		System.arraycopy(array, 0, copy, 0, length);
+		return copy;
+	}
+
+	private static int[] histogram(Object array) {
+		Class<?> type = array.getClass().getComponentType();
+		if (type == boolean.class) {
+			int[] histogram = new int[2];
+			for (boolean value : (boolean[]) array) {
+				histogram[value ? 1 : 0]++;
+			}
+			return histogram;
+		} else if (type == char.class && Array.getLength(array) >= HISTOGRAM_LENGTH) {
+			int[] histogram = new int[1 << 16];
+			for (char value : (char[]) array) {
+				histogram[value]++;
+			}
+			return histogram;
+		} else if (type == byte.class) {
+			int[] histogram = new int[1 << 8];
+			for (byte value : (byte[]) array) {
+				histogram[value & 0xff]++;
+			}
+			return histogram;
+		} else if (type == short.class && Array.getLength(array) >= HISTOGRAM_LENGTH) {
+			int[] histogram = new int[1 << 16];
+			for (short value : (short[]) array) {
+				histogram[value & 0xffff]++;
+			}
+			return histogram;
+		} else {
+			return null;
+		}
 	}
 
 	private void sort(boolean[] array) {
@@ -94,6 +186,9 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 				.appendValue(array.getClass().getComponentType())
 				.appendText(": ")
 				.appendValue(array);
+		if (tolerance != null) {
+			tolerance.describeTo(description);
+		}
 	}
 
 	@Override
@@ -105,10 +200,33 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 		} else if (item.getClass() != array.getClass()) {
 			mismatchDescription.appendText("of type ").appendValue(new SimpleClass(item.getClass()));
 		} else {
-			mismatchDescription.appendText("with items ").appendValue(item);
+			describeItemsMismatch(item, mismatchDescription);
 		}
 	}
 
+	private void describeItemsMismatch(T item, Description mismatchDescription) {
+		Object actual = processed(item);
+		int expectedLength = Array.getLength(array);
+		int actualLength = Array.getLength(actual);
+		int common = Math.min(expectedLength, actualLength);
+		int first = mismatch(actual, 0, common);
+		if (actualLength != expectedLength) {
+			mismatchDescription.appendText("with " + actualLength + " items instead of " + expectedLength);
+			if (first < 0) {
+				mismatchDescription.appendText(", first " + common + " items matching");
+				return;
+			}
+			mismatchDescription.appendText(", ");
+		}
+		if (anyOrder) {
+			mismatchDescription.appendText("in sorted order ");
+		}
+		mismatchDescription.appendText("differing at index " + first + " (" + differences(actual, first, common) + " of " + common + " items differ): expected ");
+		describeWindow(array, first, mismatchDescription);
+		mismatchDescription.appendText(" but was ");
+		describeWindow(actual, first, mismatchDescription);
+	}
+
 	@Override
 	protected boolean matchesSafely(T item) {
 		if (!item.getClass().isArray()) {
@@ -121,27 +239,189 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 			return false;
 		}
 		Class<?> type = array.getClass().getComponentType();
-		if (type == boolean.class) {
-			return Arrays.equals((boolean[]) array, processed((boolean[]) item));
-		} else if (type == char.class) {
-			return Arrays.equals((char[]) array, processed((char[]) item));
-		} else if (type == byte.class) {
-			return Arrays.equals((byte[]) array, processed((byte[]) item));
-		} else if (type == short.class) {
-			return Arrays.equals((short[]) array, processed((short[]) item));
-		} else if (type == int.class) {
-			return Arrays.equals((int[]) array, processed((int[]) item));
-		} else if (type == float.class) {
-			return Arrays.equals((float[]) array, processed((float[]) item));
-		} else if (type == long.class) {
-			return Arrays.equals((long[]) array, processed((long[]) item));
-		} else if (type == double.class) {
-			return Arrays.equals((double[]) array, processed((double[]) item));
-		} else {
+		if (anyOrder && Array.getLength(item) != Array.getLength(array)) {
 			return false;
+		} else if (anyOrder && histogram != null) {
+			return matchesHistogram(item);
+		} else if (anyOrder && type == int.class) {
+			return matchesRadixSorted((int[]) array, (int[]) item);
+		} else if (anyOrder && type == long.class) {
+			return matchesRadixSorted((long[]) array, (long[]) item);
+		} else {
+			Object actual = processed(item);
+			int length = Array.getLength(array);
+			if (Array.getLength(actual) != length) {
+				return false;
+			} else if (parallel && length > CHUNK_SIZE) {
+				AtomicBoolean differs = new AtomicBoolean();
+				ForkJoinPool.commonPool().invoke(new ParallelMismatch(actual, 0, length, differs));
+				return !differs.get();
+			} else {
+				return mismatch(actual, 0, length) < 0;
+			}
+		}
+	}
+
+	private int mismatch(Object actual, int from, int to) {
+		if (tolerance != null && actual instanceof float[]) {
+			return tolerance.mismatch((float[]) array, (float[]) actual, from, to);
+		} else if (tolerance != null && actual instanceof double[]) {
+			return tolerance.mismatch((double[]) array, (double[]) actual, from, to);
+		} else {
+			return ArrayMismatch.mismatch(array, actual, from, to);
+		}
+	}
+
+	private int differences(Object actual, int from, int to) {
+		int differences = 0;
+		for (int start = from; start < to; start += CHUNK_SIZE) {
+			int end = Math.min(to, start + CHUNK_SIZE);
+			for (int i = mismatch(actual, start, end); i >= 0; i = mismatch(actual, i + 1, end)) {
+				differences++;
+			}
+		}
+		return differences;
+	}
+
+	private static void describeWindow(Object values, int index, Description description) {
+		int length = Array.getLength(values);
+		int from = Math.max(0, index - CONTEXT);
+		int to = Math.min(length, index + CONTEXT + 1);
+		description.appendText("[");
+		if (from > 0) {
+			description.appendText("..., ");
+		}
+		for (int i = from; i < to; i++) {
+			if (i > from) {
+				description.appendText(", ");
+			}
+			description.appendValue(Array.get(values, i));
+		}
+		if (to < length) {
+			description.appendText(", ...");
+		}
+		description.appendText("]");
+	}
+
+	private Object processed(Object item) {
+		if (item instanceof boolean[]) {
+			return processed((boolean[]) item);
+		} else if (item instanceof char[]) {
+			return processed((char[]) item);
+		} else if (item instanceof byte[]) {
+			return processed((byte[]) item);
+		} else if (item instanceof short[]) {
+			return processed((short[]) item);
+		} else if (item instanceof int[]) {
+			return processed((int[]) item);
+		} else if (item instanceof float[]) {
+			return processed((float[]) item);
+		} else if (item instanceof long[]) {
+			return processed((long[]) item);
+		} else {
+			return processed((double[]) item);
 		}
 	}
 
+	private boolean matchesHistogram(T item) {
+		if (item instanceof boolean[]) {
+			int trues = 0;
+			for (boolean value : (boolean[]) item) {
+				if (value) {
+					trues++;
+				}
+			}
+			return trues == histogram[1];
+		}
+		int[] counts = BUFFERS.get().histogram();
+		try {
+			if (item instanceof char[]) {
+				char[] values = (char[]) item;
+				for (int i = 0; i < values.length; i++) {
+					counts[values[i]]++;
+				}
+				for (int i = 0; i < values.length; i++) {
+					if (counts[values[i]] != histogram[values[i]]) {
+						return false;
+					}
+				}
+			} else if (item instanceof byte[]) {
+				byte[] values = (byte[]) item;
+				for (int i = 0; i < values.length; i++) {
+					counts[values[i] & 0xff]++;
+				}
+				for (int i = 0; i < values.length; i++) {
+					if (counts[values[i] & 0xff] != histogram[values[i] & 0xff]) {
+						return false;
+					}
+				}
+			} else if (item instanceof short[]) {
+				short[] values = (short[]) item;
+				for (int i = 0; i < values.length; i++) {
+					counts[values[i] & 0xffff]++;
+				}
+				for (int i = 0; i < values.length; i++) {
+					if (counts[values[i] & 0xffff] != histogram[values[i] & 0xffff]) {
+						return false;
+					}
+				}
+			}
+			return true;
+		} finally {
+			clear(item, counts);
+		}
+	}
+
+	private static void clear(Object item, int[] counts) {
+		if (item instanceof char[]) {
+			for (char value : (char[]) item) {
+				counts[value] = 0;
+			}
+		} else if (item instanceof byte[]) {
+			for (byte value : (byte[]) item) {
+				counts[value & 0xff] = 0;
+			}
+		} else if (item instanceof short[]) {
+			for (short value : (short[]) item) {
+				counts[value & 0xffff] = 0;
+			}
+		}
+	}
+
+	boolean countsValues() {
+		return histogram != null;
+	}
+
+	static int retainedBufferLength() {
+		return BUFFERS.get().retained();
+	}
+
+	private static boolean matchesRadixSorted(int[] expected, int[] item) {
+		Buffers buffers = BUFFERS.get();
+		int[] values = buffers.ints(item.length);
+		System.arraycopy(item, 0, values, 0, item.length);
+		int[] sorted = RadixSort.sort(values, buffers.intBuffer(item.length), item.length);
+		for (int i = 0; i < expected.length; i++) {
+			if (sorted[i] != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean matchesRadixSorted(long[] expected, long[] item) {
+		Buffers buffers = BUFFERS.get();
+		long[] values = buffers.longs(item.length);
+		System.arraycopy(item, 0, values, 0, item.length);
+		long[] sorted = RadixSort.sort(values, buffers.longBuffer(item.length), item.length);
+		for (int i = 0; i < expected.length; i++) {
+			if (sorted[i] != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private boolean[] processed(boolean[] item) {
 		if (anyOrder) {
 			item = Arrays.copyOf(item, item.length);
@@ -153,7 +433,11 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 	private char[] processed(char[] item) {
 		if (anyOrder) {
 			item = Arrays.copyOf(item, item.length);
-			Arrays.sort(item);
+			if (parallel) {
+				Arrays.parallelSort(item);
+			} else {
+				Arrays.sort(item);
+			}
 		}
 		return item;
 	}
@@ -161,7 +445,11 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 	private byte[] processed(byte[] item) {
 		if (anyOrder) {
 			item = Arrays.copyOf(item, item.length);
-			Arrays.sort(item);
+			if (parallel) {
+				Arrays.parallelSort(item);
+			} else {
+				Arrays.sort(item);
+			}
 		}
 		return item;
 	}
@@ -169,7 +457,11 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 	private short[] processed(short[] item) {
 		if (anyOrder) {
 			item = Arrays.copyOf(item, item.length);
-			Arrays.sort(item);
+			if (parallel) {
+				Arrays.parallelSort(item);
+			} else {
+				Arrays.sort(item);
+			}
 		}
 		return item;
 	}
@@ -177,7 +469,11 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 	private int[] processed(int[] item) {
 		if (anyOrder) {
 			item = Arrays.copyOf(item, item.length);
-			Arrays.sort(item);
+			if (parallel) {
+				Arrays.parallelSort(item);
+			} else {
+				Arrays.sort(item);
+			}
 		}
 		return item;
 	}
@@ -185,7 +481,11 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 	private float[] processed(float[] item) {
 		if (anyOrder) {
 			item = Arrays.copyOf(item, item.length);
-			Arrays.sort(item);
+			if (parallel) {
+				Arrays.parallelSort(item);
+			} else {
+				Arrays.sort(item);
+			}
 		}
 		return item;
 	}
@@ -193,7 +493,11 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 	private long[] processed(long[] item) {
 		if (anyOrder) {
 			item = Arrays.copyOf(item, item.length);
-			Arrays.sort(item);
+			if (parallel) {
+				Arrays.parallelSort(item);
+			} else {
+				Arrays.sort(item);
+			}
 		}
 		return item;
 	}
@@ -201,9 +505,104 @@ public class PrimitiveArrayMatcher<T> extends TypeSafeMatcher<T> {
 	private double[] processed(double[] item) {
 		if (anyOrder) {
 			item = Arrays.copyOf(item, item.length);
-			Arrays.sort(item);
+			if (parallel) {
+				Arrays.parallelSort(item);
+			} else {
+				Arrays.sort(item);
+			}
 		}
 		return item;
 	}
 
+	private class ParallelMismatch extends RecursiveAction {
+
+		private Object actual;
+		private int from;
+		private int to;
+		private AtomicBoolean differs;
+
+		public ParallelMismatch(Object actual, int from, int to, AtomicBoolean differs) {
+			this.actual = actual;
+			this.from = from;
+			this.to = to;
+			this.differs = differs;
+		}
+
+		@Override
+		protected void compute() {
+			if (differs.get()) {
+				return;
+			}
+			if (to - from <= CHUNK_SIZE) {
+				if (mismatch(actual, from, to) >= 0) {
+					differs.set(true);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			ParallelMismatch left = new ParallelMismatch(actual, from, middle, differs);
+			left.fork();
+			new ParallelMismatch(actual, middle, to, differs).compute();
+			left.join();
+		}
+
+	}
+
+	private static class Buffers {
+
+		private int[] histogram;
+		private int[] ints = new int[0];
+		private int[] intBuffer = new int[0];
+		private long[] longs = new long[0];
+		private long[] longBuffer = new long[0];
+
+		public int[] histogram() {
+			if (histogram == null) {
+				histogram = new int[1 << 16];
+			}
+			return histogram;
+		}
+
+		public int[] ints(int length) {
+			if (length > RETAINED_LENGTH) {
+				return new int[length];
+			}
+			if (ints.length < length) {
+				ints = new int[length];
+				intBuffer = new int[length];
+			}
+			return ints;
+		}
+
+		public int[] intBuffer(int length) {
+			if (length > RETAINED_LENGTH) {
+				return new int[length];
+			}
+			return intBuffer;
+		}
+
+		public long[] longs(int length) {
+			if (length > RETAINED_LENGTH) {
+				return new long[length];
+			}
+			if (longs.length < length) {
+				longs = new long[length];
+				longBuffer = new long[length];
+			}
+			return longs;
+		}
+
+		public long[] longBuffer(int length) {
+			if (length > RETAINED_LENGTH) {
+				return new long[length];
+			}
+			return longBuffer;
+		}
+
+		public int retained() {
+			return Math.max(ints.length, longs.length);
+		}
+
+	}
+
 }
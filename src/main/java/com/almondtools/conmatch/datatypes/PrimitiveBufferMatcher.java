@@ -0,0 +1,321 @@
+package com.almondtools.conmatch.datatypes;
+
+import java.lang.reflect.Array;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+
+public class PrimitiveBufferMatcher<T extends Buffer> extends TypeSafeMatcher<T> {
+
+	public static final int CHUNK_SIZE = 4096;
+
+	private static final Accessor<ByteBuffer> BYTES = new Accessor<ByteBuffer>() {
+
+		@Override
+		public ByteBuffer duplicate(ByteBuffer buffer) {
+			return buffer.duplicate();
+		}
+
+		@Override
+		public void get(ByteBuffer buffer, Object chunk, int length) {
+			buffer.get((byte[]) chunk, 0, length);
+		}
+
+		@Override
+		public int mismatch(Object chunk, Object expected, int offset, int length) {
+			byte[] actualValues = (byte[]) chunk;
+			byte[] expectedValues = (byte[]) expected;
+			for (int i = 0; i < length; i++) {
+				if (actualValues[i] != expectedValues[offset + i]) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public Object get(ByteBuffer buffer, int index) {
+			return buffer.get(index);
+		}
+	};
+
+	private static final Accessor<CharBuffer> CHARS = new Accessor<CharBuffer>() {
+
+		@Override
+		public CharBuffer duplicate(CharBuffer buffer) {
+			return buffer.duplicate();
+		}
+
+		@Override
+		public void get(CharBuffer buffer, Object chunk, int length) {
+			buffer.get((char[]) chunk, 0, length);
+		}
+
+		@Override
+		public int mismatch(Object chunk, Object expected, int offset, int length) {
+			char[] actualValues = (char[]) chunk;
+			char[] expectedValues = (char[]) expected;
+			for (int i = 0; i < length; i++) {
+				if (actualValues[i] != expectedValues[offset + i]) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public Object get(CharBuffer buffer, int index) {
+			return buffer.get(index);
+		}
+	};
+
+	private static final Accessor<ShortBuffer> SHORTS = new Accessor<ShortBuffer>() {
+
+		@Override
+		public ShortBuffer duplicate(ShortBuffer buffer) {
+			return buffer.duplicate();
+		}
+
+		@Override
+		public void get(ShortBuffer buffer, Object chunk, int length) {
+			buffer.get((short[]) chunk, 0, length);
+		}
+
+		@Override
+		public int mismatch(Object chunk, Object expected, int offset, int length) {
+			short[] actualValues = (short[]) chunk;
+			short[] expectedValues = (short[]) expected;
+			for (int i = 0; i < length; i++) {
+				if (actualValues[i] != expectedValues[offset + i]) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public Object get(ShortBuffer buffer, int index) {
+			return buffer.get(index);
+		}
+	};
+
+	private static final Accessor<IntBuffer> INTS = new Accessor<IntBuffer>() {
+
+		@Override
+		public IntBuffer duplicate(IntBuffer buffer) {
+			return buffer.duplicate();
+		}
+
+		@Override
+		public void get(IntBuffer buffer, Object chunk, int length) {
+			buffer.get((int[]) chunk, 0, length);
+		}
+
+		@Override
+		public int mismatch(Object chunk, Object expected, int offset, int length) {
+			int[] actualValues = (int[]) chunk;
+			int[] expectedValues = (int[]) expected;
+			for (int i = 0; i < length; i++) {
+				if (actualValues[i] != expectedValues[offset + i]) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public Object get(IntBuffer buffer, int index) {
+			return buffer.get(index);
+		}
+	};
+
+	private static final Accessor<LongBuffer> LONGS = new Accessor<LongBuffer>() {
+
+		@Override
+		public LongBuffer duplicate(LongBuffer buffer) {
+			return buffer.duplicate();
+		}
+
+		@Override
+		public void get(LongBuffer buffer, Object chunk, int length) {
+			buffer.get((long[]) chunk, 0, length);
+		}
+
+		@Override
+		public int mismatch(Object chunk, Object expected, int offset, int length) {
+			long[] actualValues = (long[]) chunk;
+			long[] expectedValues = (long[]) expected;
+			for (int i = 0; i < length; i++) {
+				if (actualValues[i] != expectedValues[offset + i]) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public Object get(LongBuffer buffer, int index) {
+			return buffer.get(index);
+		}
+	};
+
+	private static final Accessor<FloatBuffer> FLOATS = new Accessor<FloatBuffer>() {
+
+		@Override
+		public FloatBuffer duplicate(FloatBuffer buffer) {
+			return buffer.duplicate();
+		}
+
+		@Override
+		public void get(FloatBuffer buffer, Object chunk, int length) {
+			buffer.get((float[]) chunk, 0, length);
+		}
+
+		@Override
+		public int mismatch(Object chunk, Object expected, int offset, int length) {
+			float[] actualValues = (float[]) chunk;
+			float[] expectedValues = (float[]) expected;
+			for (int i = 0; i < length; i++) {
+				if (Float.floatToIntBits(actualValues[i]) != Float.floatToIntBits(expectedValues[offset + i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public Object get(FloatBuffer buffer, int index) {
+			return buffer.get(index);
+		}
+	};
+
+	private static final Accessor<DoubleBuffer> DOUBLES = new Accessor<DoubleBuffer>() {
+
+		@Override
+		public DoubleBuffer duplicate(DoubleBuffer buffer) {
+			return buffer.duplicate();
+		}
+
+		@Override
+		public void get(DoubleBuffer buffer, Object chunk, int length) {
+			buffer.get((double[]) chunk, 0, length);
+		}
+
+		@Override
+		public int mismatch(Object chunk, Object expected, int offset, int length) {
+			double[] actualValues = (double[]) chunk;
+			double[] expectedValues = (double[]) expected;
+			for (int i = 0; i < length; i++) {
+				if (Double.doubleToLongBits(actualValues[i]) != Double.doubleToLongBits(expectedValues[offset + i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public Object get(DoubleBuffer buffer, int index) {
+			return buffer.get(index);
+		}
+	};
+
+	private Accessor<T> accessor;
+	private Object expected;
+	private int length;
+
+	private PrimitiveBufferMatcher(Class<T> bufferType, Accessor<T> accessor, Object expected) {
+		super(bufferType);
+		this.accessor = accessor;
+		this.expected = expected;
+		this.length = Array.getLength(expected);
+	}
+
+	public static PrimitiveBufferMatcher<ByteBuffer> byteBufferContaining(byte... items) {
+		return new PrimitiveBufferMatcher<>(ByteBuffer.class, BYTES, items.clone());
+	}
+
+	public static PrimitiveBufferMatcher<CharBuffer> charBufferContaining(char... items) {
+		return new PrimitiveBufferMatcher<>(CharBuffer.class, CHARS, items.clone());
+	}
+
+	public static PrimitiveBufferMatcher<ShortBuffer> shortBufferContaining(short... items) {
+		return new PrimitiveBufferMatcher<>(ShortBuffer.class, SHORTS, items.clone());
+	}
+
+	public static PrimitiveBufferMatcher<IntBuffer> intBufferContaining(int... items) {
+		return new PrimitiveBufferMatcher<>(IntBuffer.class, INTS, items.clone());
+	}
+
+	public static PrimitiveBufferMatcher<LongBuffer> longBufferContaining(long... items) {
+		return new PrimitiveBufferMatcher<>(LongBuffer.class, LONGS, items.clone());
+	}
+
+	public static PrimitiveBufferMatcher<FloatBuffer> floatBufferContaining(float... items) {
+		return new PrimitiveBufferMatcher<>(FloatBuffer.class, FLOATS, items.clone());
+	}
+
+	public static PrimitiveBufferMatcher<DoubleBuffer> doubleBufferContaining(double... items) {
+		return new PrimitiveBufferMatcher<>(DoubleBuffer.class, DOUBLES, items.clone());
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		description.appendText("a buffer containing " + length + " values of type ")
+			.appendValue(expected.getClass().getComponentType());
+	}
+
+	@Override
+	protected void describeMismatchSafely(T item, Description mismatchDescription) {
+		if (item.remaining() != length) {
+			mismatchDescription.appendText("with " + item.remaining() + " remaining values");
+			return;
+		}
+		int index = mismatch(item);
+		mismatchDescription.appendText("differing at index " + index + ": expected ")
+			.appendValue(Array.get(expected, index))
+			.appendText(" but was ")
+			.appendValue(accessor.get(item, item.position() + index));
+	}
+
+	@Override
+	protected boolean matchesSafely(T item) {
+		return item.remaining() == length
+			&& mismatch(item) < 0;
+	}
+
+	private int mismatch(T item) {
+		T buffer = accessor.duplicate(item);
+		Object chunk = Array.newInstance(expected.getClass().getComponentType(), Math.min(CHUNK_SIZE, length));
+		int chunkLength = Array.getLength(chunk);
+		for (int offset = 0; offset < length; offset += chunkLength) {
+			int size = Math.min(chunkLength, length - offset);
+			accessor.get(buffer, chunk, size);
+			int index = accessor.mismatch(chunk, expected, offset, size);
+			if (index >= 0) {
+				return offset + index;
+			}
+		}
+		return -1;
+	}
+
+	private interface Accessor<T extends Buffer> {
+
+		T duplicate(T buffer);
+
+		void get(T buffer, Object chunk, int length);
+
+		int mismatch(Object chunk, Object expected, int offset, int length);
+
+		Object get(T buffer, int index);
+
+	}
+
+}
@@ -0,0 +1,288 @@
+package com.almondtools.conmatch.datatypes;
+
+import java.util.Arrays;
+
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+
+public abstract class PrimitiveSubarrayMatcher<T> extends TypeSafeMatcher<T> {
+
+	private static final int ALPHABET = 256;
+
+	private final T subarray;
+	private final int from;
+	private final int to;
+	private final boolean anchored;
+
+	public PrimitiveSubarrayMatcher(Class<T> type, T subarray, int from, int to, boolean anchored) {
+		super(type);
+		this.subarray = subarray;
+		this.from = from;
+		this.to = to;
+		this.anchored = anchored;
+	}
+
+	public static PrimitiveSubarrayMatcher<byte[]> byteArrayContainingSubarray(byte... items) {
+		return new ByteSubarrayMatcher(items.clone());
+	}
+
+	public static PrimitiveSubarrayMatcher<char[]> charArrayContainingSubarray(char... items) {
+		return new CharSubarrayMatcher(items.clone());
+	}
+
+	public static PrimitiveSubarrayMatcher<int[]> intArrayContainingSubarray(int... items) {
+		return new IntSubarrayMatcher(items.clone());
+	}
+
+	public PrimitiveSubarrayMatcher<T> within(int from, int to) {
+		if (from < 0 || to < from) {
+			throw new IllegalArgumentException("illegal range " + from + " to " + to);
+		}
+		return range(from, to, false);
+	}
+
+	public PrimitiveSubarrayMatcher<T> at(int index) {
+		if (index < 0) {
+			throw new IllegalArgumentException("illegal index " + index);
+		}
+		return range(index, Integer.MAX_VALUE, true);
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		description.appendText("an array containing the subarray ").appendValue(subarray);
+		if (anchored) {
+			description.appendText(" at index " + from);
+		} else if (to != Integer.MAX_VALUE) {
+			description.appendText(" within indices " + from + " to " + to);
+		} else if (from > 0) {
+			description.appendText(" from index " + from);
+		}
+	}
+
+	@Override
+	protected void describeMismatchSafely(T item, Description mismatchDescription) {
+		if (anchored) {
+			mismatchDescription.appendText("with items ").appendValue(window(item, from, from + length(subarray)));
+		} else {
+			int end = Math.min(to, length(item));
+			mismatchDescription.appendText("without occurrence in " + Math.max(0, end - from) + " items");
+		}
+	}
+
+	@Override
+	protected boolean matchesSafely(T item) {
+		int length = length(item);
+		if (anchored) {
+			return from + length(subarray) <= length && matchesAt(item, from);
+		}
+		int end = Math.min(to, length);
+		return find(item, from, end) >= 0;
+	}
+
+	protected abstract PrimitiveSubarrayMatcher<T> range(int from, int to, boolean anchored);
+
+	protected abstract int length(T array);
+
+	protected abstract T window(T array, int from, int to);
+
+	protected abstract boolean matchesAt(T item, int start);
+
+	protected abstract int find(T item, int from, int to);
+
+	private static int[] shift(int length) {
+		int[] shift = new int[ALPHABET];
+		Arrays.fill(shift, Math.max(length, 1));
+		return shift;
+	}
+
+	private static class ByteSubarrayMatcher extends PrimitiveSubarrayMatcher<byte[]> {
+
+		private final byte[] pattern;
+		private final int[] shift;
+
+		public ByteSubarrayMatcher(byte[] pattern) {
+			this(pattern, shift(pattern.length), 0, Integer.MAX_VALUE, false);
+			for (int i = 0; i < pattern.length - 1; i++) {
+				byte b = pattern[i];
+				shift[b & 0xff] = pattern.length - 1 - i;
+			}
+		}
+
+		private ByteSubarrayMatcher(byte[] pattern, int[] shift, int from, int to, boolean anchored) {
+			super(byte[].class, pattern, from, to, anchored);
+			this.pattern = pattern;
+			this.shift = shift;
+		}
+
+		@Override
+		protected PrimitiveSubarrayMatcher<byte[]> range(int from, int to, boolean anchored) {
+			return new ByteSubarrayMatcher(pattern, shift, from, to, anchored);
+		}
+
+		@Override
+		protected int length(byte[] array) {
+			return array.length;
+		}
+
+		@Override
+		protected byte[] window(byte[] array, int from, int to) {
+			return Arrays.copyOfRange(array, Math.min(from, array.length), Math.min(to, array.length));
+		}
+
+		@Override
+		protected boolean matchesAt(byte[] item, int start) {
+			for (int i = pattern.length - 1; i >= 0; i--) {
+				if (item[start + i] != pattern[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		protected int find(byte[] item, int from, int to) {
+			if (pattern.length == 0) {
+				return from <= to ? from : -1;
+			}
+			int last = pattern.length - 1;
+			byte lastValue = pattern[last];
+			for (int start = from; start + last < to;) {
+				byte b = item[start + last];
+				if (b == lastValue && matchesAt(item, start)) {
+					return start;
+				}
+				start += shift[b & 0xff];
+			}
+			return -1;
+		}
+
+	}
+
+	private static class CharSubarrayMatcher extends PrimitiveSubarrayMatcher<char[]> {
+
+		private final char[] pattern;
+		private final int[] shift;
+
+		public CharSubarrayMatcher(char[] pattern) {
+			this(pattern, shift(pattern.length), 0, Integer.MAX_VALUE, false);
+			for (int i = 0; i < pattern.length - 1; i++) {
+				char c = pattern[i];
+				shift[c & 0xff] = pattern.length - 1 - i;
+			}
+		}
+
+		private CharSubarrayMatcher(char[] pattern, int[] shift, int from, int to, boolean anchored) {
+			super(char[].class, pattern, from, to, anchored);
+			this.pattern = pattern;
+			this.shift = shift;
+		}
+
+		@Override
+		protected PrimitiveSubarrayMatcher<char[]> range(int from, int to, boolean anchored) {
+			return new CharSubarrayMatcher(pattern, shift, from, to, anchored);
+		}
+
+		@Override
+		protected int length(char[] array) {
+			return array.length;
+		}
+
+		@Override
+		protected char[] window(char[] array, int from, int to) {
+			return Arrays.copyOfRange(array, Math.min(from, array.length), Math.min(to, array.length));
+		}
+
+		@Override
+		protected boolean matchesAt(char[] item, int start) {
+			for (int i = pattern.length - 1; i >= 0; i--) {
+				if (item[start + i] != pattern[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		protected int find(char[] item, int from, int to) {
+			if (pattern.length == 0) {
+				return from <= to ? from : -1;
+			}
+			int last = pattern.length - 1;
+			char lastValue = pattern[last];
+			for (int start = from; start + last < to;) {
+				char c = item[start + last];
+				if (c == lastValue && matchesAt(item, start)) {
+					return start;
+				}
+				start += shift[c & 0xff];
+			}
+			return -1;
+		}
+
+	}
+
+	private static class IntSubarrayMatcher extends PrimitiveSubarrayMatcher<int[]> {
+
+		private final int[] pattern;
+		private final int[] shift;
+
+		public IntSubarrayMatcher(int[] pattern) {
+			this(pattern, shift(pattern.length), 0, Integer.MAX_VALUE, false);
+			for (int i = 0; i < pattern.length - 1; i++) {
+				int v = pattern[i];
+				shift[v & 0xff] = pattern.length - 1 - i;
+			}
+		}
+
+		private IntSubarrayMatcher(int[] pattern, int[] shift, int from, int to, boolean anchored) {
+			super(int[].class, pattern, from, to, anchored);
+			this.pattern = pattern;
+			this.shift = shift;
+		}
+
+		@Override
+		protected PrimitiveSubarrayMatcher<int[]> range(int from, int to, boolean anchored) {
+			return new IntSubarrayMatcher(pattern, shift, from, to, anchored);
+		}
+
+		@Override
+		protected int length(int[] array) {
+			return array.length;
+		}
+
+		@Override
+		protected int[] window(int[] array, int from, int to) {
+			return Arrays.copyOfRange(array, Math.min(from, array.length), Math.min(to, array.length));
+		}
+
+		@Override
+		protected boolean matchesAt(int[] item, int start) {
+			for (int i = pattern.length - 1; i >= 0; i--) {
+				if (item[start + i] != pattern[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		protected int find(int[] item, int from, int to) {
+			if (pattern.length == 0) {
+				return from <= to ? from : -1;
+			}
+			int last = pattern.length - 1;
+			int lastValue = pattern[last];
+			for (int start = from; start + last < to;) {
+				int v = item[start + last];
+				if (v == lastValue && matchesAt(item, start)) {
+					return start;
+				}
+				start += shift[v & 0xff];
+			}
+			return -1;
+		}
+
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.almondtools.conmatch.datatypes;
+
+import java.util.Arrays;
+
+final class RadixSort {
+
+	private static final int RADIX = 256;
+
+	private RadixSort() {
+	}
+
+	public static int[] sort(int[] values, int[] buffer, int length) {
+		int[] counts = new int[RADIX];
+		int[] from = values;
+		int[] to = buffer;
+		for (int shift = 0; shift < 32; shift += 8) {
+			int flip = shift == 24 ? 0x80 : 0;
+			if (count(from, length, shift, flip, counts)) {
+				continue;
+			}
+			for (int i = 0; i < length; i++) {
+				int value = from[i];
+				to[counts[(value >>> shift ^ flip) & 0xff]++] = value;
+			}
+			int[] swap = from;
+			from = to;
+			to = swap;
+		}
+		return from;
+	}
+
+	public static long[] sort(long[] values, long[] buffer, int length) {
+		int[] counts = new int[RADIX];
+		long[] from = values;
+		long[] to = buffer;
+		for (int shift = 0; shift < 64; shift += 8) {
+			int flip = shift == 56 ? 0x80 : 0;
+			if (count(from, length, shift, flip, counts)) {
+				continue;
+			}
+			for (int i = 0; i < length; i++) {
+				long value = from[i];
+				to[counts[(int) (value >>> shift ^ flip) & 0xff]++] = value;
+			}
+			long[] swap = from;
+			from = to;
+			to = swap;
+		}
+		return from;
+	}
+
+	private static boolean count(int[] values, int length, int shift, int flip, int[] counts) {
+		Arrays.fill(counts, 0);
+		for (int i = 0; i < length; i++) {
+			counts[(values[i] >>> shift ^ flip) & 0xff]++;
+		}
+		return offsets(counts, length);
+	}
+
+	private static boolean count(long[] values, int length, int shift, int flip, int[] counts) {
+		Arrays.fill(counts, 0);
+		for (int i = 0; i < length; i++) {
+			counts[(int) (values[i] >>> shift ^ flip) & 0xff]++;
+		}
+		return offsets(counts, length);
+	}
+
+	private static boolean offsets(int[] counts, int length) {
+		int sum = 0;
+		for (int i = 0; i < RADIX; i++) {
+			int count = counts[i];
+			if (count == length) {
+				return true;
+			}
+			counts[i] = sum;
+			sum += count;
+		}
+		return false;
+	}
+
+}
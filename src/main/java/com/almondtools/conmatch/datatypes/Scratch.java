@@ -0,0 +1,71 @@
+package com.almondtools.conmatch.datatypes;
+
+import java.util.Arrays;
+
+class Scratch {
+
+	private long[] consumed;
+	private int[] counts;
+	private boolean inUse;
+
+	public Scratch(int size) {
+		this.consumed = new long[words(size)];
+		this.counts = new int[size];
+	}
+
+	private static int words(int size) {
+		return (size + 63) >>> 6;
+	}
+
+	private Scratch reset(int size) {
+		if (counts.length < size) {
+			consumed = new long[words(size)];
+			counts = new int[size];
+		} else {
+			Arrays.fill(consumed, 0, words(size), 0L);
+			Arrays.fill(counts, 0, size, 0);
+		}
+		return this;
+	}
+
+	public boolean isConsumed(int i) {
+		return (consumed[i >>> 6] & 1L << i) != 0;
+	}
+
+	public void consume(int i) {
+		consumed[i >>> 6] |= 1L << i;
+	}
+
+	public int count(int i) {
+		return counts[i];
+	}
+
+	public void increment(int i) {
+		counts[i]++;
+	}
+
+	public void release() {
+		inUse = false;
+	}
+
+	public static class Local extends ThreadLocal<Scratch> {
+
+		@Override
+		protected Scratch initialValue() {
+			return new Scratch(0);
+		}
+
+		public Scratch acquire(int size) {
+			Scratch scratch = get();
+			if (scratch.inUse) {
+				scratch = new Scratch(size);
+			} else {
+				scratch.reset(size);
+			}
+			scratch.inUse = true;
+			return scratch;
+		}
+
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.almondtools.conmatch.datatypes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class SlotIndex<K, E> {
+
+	private boolean interchangeable;
+	private Acceptor<E> acceptor;
+	private Map<K, List<Integer>> values;
+	private List<Integer> matchers;
+	private int size;
+
+	public SlotIndex(boolean interchangeable, Acceptor<E> acceptor) {
+		this.interchangeable = interchangeable;
+		this.acceptor = acceptor;
+		this.values = new HashMap<>();
+		this.matchers = new ArrayList<>();
+	}
+
+	public int addValue(K key) {
+		List<Integer> slots = values.get(key);
+		if (slots == null) {
+			slots = new ArrayList<>();
+			values.put(key, slots);
+		}
+		slots.add(size);
+		return size++;
+	}
+
+	public int addMatcher() {
+		matchers.add(size);
+		return size++;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public List<Integer> valueSlots(K key) {
+		return values.get(key);
+	}
+
+	public List<Integer> matcherSlots() {
+		return matchers;
+	}
+
+	public boolean tryMatch(Scratch consumed, K key, E element) {
+		return tryMatchValue(consumed, key, element) || tryMatchMatcher(consumed, 0, false, element);
+	}
+
+	public boolean tryMatchValue(Scratch consumed, K key, E element) {
+		List<Integer> slots = values.get(key);
+		if (slots == null) {
+			return false;
+		}
+		if (interchangeable) {
+			int group = slots.get(0);
+			if (consumed.count(group) < slots.size()) {
+				consumed.increment(group);
+				return true;
+			}
+			return false;
+		}
+		for (int i = 0; i < slots.size(); i++) {
+			int slot = slots.get(i);
+			if (!consumed.isConsumed(slot) && acceptor.accepts(slot, element)) {
+				consumed.consume(slot);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public boolean tryMatchMatcher(Scratch consumed, int from, boolean accepted, E element) {
+		for (int i = from; i < matchers.size(); i++) {
+			int slot = matchers.get(i);
+			if (!consumed.isConsumed(slot) && (accepted && i == from || acceptor.accepts(slot, element))) {
+				consumed.consume(slot);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public BipartiteMatching matching(int left) {
+		BipartiteMatching matching = new BipartiteMatching(left, size);
+		if (interchangeable) {
+			for (List<Integer> slots : values.values()) {
+				matching.capacity(slots.get(0), slots.size());
+				for (int i = 1; i < slots.size(); i++) {
+					matching.capacity(slots.get(i), 0);
+				}
+			}
+		}
+		return matching;
+	}
+
+	public void connect(BipartiteMatching matching, int i, K key, E element) {
+		connectValue(matching, i, key, element);
+		for (int slot : matchers) {
+			if (acceptor.accepts(slot, element)) {
+				matching.connect(i, slot);
+			}
+		}
+	}
+
+	public boolean connectValue(BipartiteMatching matching, int i, K key, E element) {
+		List<Integer> slots = values.get(key);
+		if (slots == null) {
+			return false;
+		}
+		if (interchangeable) {
+			matching.connect(i, slots.get(0));
+			return true;
+		}
+		boolean connected = false;
+		for (int slot : slots) {
+			if (acceptor.accepts(slot, element)) {
+				matching.connect(i, slot);
+				connected = true;
+			}
+		}
+		return connected;
+	}
+
+	interface Acceptor<E> {
+
+		boolean accepts(int slot, E element);
+
+	}
+
+}
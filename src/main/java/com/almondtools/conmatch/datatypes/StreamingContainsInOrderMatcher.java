@@ -0,0 +1,103 @@
+package com.almondtools.conmatch.datatypes;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.almondtools.conmatch.util.SinglePassMatcher;
+
+public abstract class StreamingContainsInOrderMatcher<S, T> extends SinglePassMatcher<S> {
+
+	private ContainsInOrderMatcher<T> expected;
+
+	public StreamingContainsInOrderMatcher(Class<?> type, ContainsInOrderMatcher<T> expected) {
+		super(type);
+		this.expected = expected;
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		expected.describeTo(description);
+	}
+
+	@Override
+	protected boolean matchesOnce(S item, Description mismatchDescription) {
+		Iterator<? extends T> iterator = iterator(item);
+		int index = 0;
+		while (iterator.hasNext()) {
+			T element = iterator.next();
+			if (index >= expected.size()) {
+				mismatchDescription.appendText("found surplus element at index " + index + ": ").appendValue(element);
+				return false;
+			}
+			Matcher<T> matcher = expected.get(index);
+			if (!matcher.matches(element)) {
+				mismatchDescription.appendText("mismatching element at index " + index + ": ");
+				matcher.describeMismatch(element, mismatchDescription);
+				return false;
+			}
+			index++;
+		}
+		if (index < expected.size()) {
+			mismatchDescription.appendText("missing " + (expected.size() - index) + " elements after " + index + " elements");
+			return false;
+		}
+		return true;
+	}
+
+	protected abstract Iterator<? extends T> iterator(S item);
+
+	public static <T> StreamingContainsInOrderMatcher<Iterable<? extends T>, T> iterableContainsInOrder(Class<T> key, Object... elements) {
+		return new IterableMatcher<>(ContainsInOrderMatcher.containsInOrder(key, elements));
+	}
+
+	public static <T> StreamingContainsInOrderMatcher<Iterator<? extends T>, T> iteratorContainsInOrder(Class<T> key, Object... elements) {
+		return new IteratorMatcher<>(ContainsInOrderMatcher.containsInOrder(key, elements));
+	}
+
+	public static <T> StreamingContainsInOrderMatcher<Stream<? extends T>, T> streamContainsInOrder(Class<T> key, Object... elements) {
+		return new StreamMatcher<>(ContainsInOrderMatcher.containsInOrder(key, elements));
+	}
+
+	private static class IterableMatcher<T> extends StreamingContainsInOrderMatcher<Iterable<? extends T>, T> {
+
+		public IterableMatcher(ContainsInOrderMatcher<T> expected) {
+			super(Iterable.class, expected);
+		}
+
+		@Override
+		protected Iterator<? extends T> iterator(Iterable<? extends T> item) {
+			return item.iterator();
+		}
+
+	}
+
+	private static class IteratorMatcher<T> extends StreamingContainsInOrderMatcher<Iterator<? extends T>, T> {
+
+		public IteratorMatcher(ContainsInOrderMatcher<T> expected) {
+			super(Iterator.class, expected);
+		}
+
+		@Override
+		protected Iterator<? extends T> iterator(Iterator<? extends T> item) {
+			return item;
+		}
+
+	}
+
+	private static class StreamMatcher<T> extends StreamingContainsInOrderMatcher<Stream<? extends T>, T> {
+
+		public StreamMatcher(ContainsInOrderMatcher<T> expected) {
+			super(Stream.class, expected);
+		}
+
+		@Override
+		protected Iterator<? extends T> iterator(Stream<? extends T> item) {
+			return item.iterator();
+		}
+
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.almondtools.conmatch.datatypes;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.hamcrest.Description;
+
+import com.almondtools.conmatch.util.SinglePassMatcher;
+
+public abstract class StreamingContainsMatcher<S, T> extends SinglePassMatcher<S> {
+
+	private ContainsMatcher<T> expected;
+
+	public StreamingContainsMatcher(Class<?> type, ContainsMatcher<T> expected) {
+		super(type);
+		this.expected = expected;
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		expected.describeTo(description);
+	}
+
+	@Override
+	protected boolean matchesOnce(S item, Description mismatchDescription) {
+		Iterator<? extends T> iterator = iterator(item);
+		Scratch consumed = new Scratch(expected.size());
+		int index = 0;
+		while (iterator.hasNext()) {
+			T element = iterator.next();
+			if (index >= expected.size()) {
+				mismatchDescription.appendText("found surplus element at index " + index + ": ").appendValue(element);
+				return false;
+			}
+			if (!expected.tryMatch(consumed, element)) {
+				mismatchDescription.appendText("unmatched element at index " + index + ": ").appendValue(element);
+				return false;
+			}
+			index++;
+		}
+		if (index < expected.size()) {
+			mismatchDescription.appendText("missing " + (expected.size() - index) + " elements after " + index + " elements");
+			return false;
+		}
+		return true;
+	}
+
+	protected abstract Iterator<? extends T> iterator(S item);
+
+	public static <T> StreamingContainsMatcher<Iterable<? extends T>, T> iterableContains(Class<T> key, Object... elements) {
+		return new IterableMatcher<>(ContainsMatcher.contains(key, elements));
+	}
+
+	public static <T> StreamingContainsMatcher<Iterator<? extends T>, T> iteratorContains(Class<T> key, Object... elements) {
+		return new IteratorMatcher<>(ContainsMatcher.contains(key, elements));
+	}
+
+	public static <T> StreamingContainsMatcher<Stream<? extends T>, T> streamContains(Class<T> key, Object... elements) {
+		return new StreamMatcher<>(ContainsMatcher.contains(key, elements));
+	}
+
+	private static class IterableMatcher<T> extends StreamingContainsMatcher<Iterable<? extends T>, T> {
+
+		public IterableMatcher(ContainsMatcher<T> expected) {
+			super(Iterable.class, expected);
+		}
+
+		@Override
+		protected Iterator<? extends T> iterator(Iterable<? extends T> item) {
+			return item.iterator();
+		}
+
+	}
+
+	private static class IteratorMatcher<T> extends StreamingContainsMatcher<Iterator<? extends T>, T> {
+
+		public IteratorMatcher(ContainsMatcher<T> expected) {
+			super(Iterator.class, expected);
+		}
+
+		@Override
+		protected Iterator<? extends T> iterator(Iterator<? extends T> item) {
+			return item;
+		}
+
+	}
+
+	private static class StreamMatcher<T> extends StreamingContainsMatcher<Stream<? extends T>, T> {
+
+		public StreamMatcher(ContainsMatcher<T> expected) {
+			super(Stream.class, expected);
+		}
+
+		@Override
+		protected Iterator<? extends T> iterator(Stream<? extends T> item) {
+			return item.iterator();
+		}
+
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.almondtools.conmatch.datatypes;
+
+import org.hamcrest.Description;
+
+final class Tolerance {
+
+	private Mode mode;
+	private double value;
+
+	private Tolerance(Mode mode, double value) {
+		this.mode = mode;
+		this.value = value;
+	}
+
+	public static Tolerance absolute(double epsilon) {
+		if (!(epsilon >= 0)) {
+			throw new IllegalArgumentException("tolerance must not be negative: " + epsilon);
+		}
+		return new Tolerance(Mode.ABSOLUTE, epsilon);
+	}
+
+	public static Tolerance relative(double epsilon) {
+		if (!(epsilon >= 0 && epsilon < 1)) {
+			throw new IllegalArgumentException("relative tolerance must be in [0,1): " + epsilon);
+		}
+		return new Tolerance(Mode.RELATIVE, epsilon);
+	}
+
+	public static Tolerance ulps(long ulps) {
+		if (ulps < 0) {
+			throw new IllegalArgumentException("ulps must not be negative: " + ulps);
+		}
+		return new Tolerance(Mode.ULP, ulps);
+	}
+
+	public void describeTo(Description description) {
+		switch (mode) {
+		case ABSOLUTE:
+			description.appendText(" within ").appendValue(value);
+			break;
+		case RELATIVE:
+			description.appendText(" within relative ").appendValue(value);
+			break;
+		case ULP:
+			description.appendText(" within " + (long) value + " ulps");
+			break;
+		}
+	}
+
+	public int mismatch(double[] expected, double[] actual, int from, int to) {
+		switch (mode) {
+		case ABSOLUTE:
+			for (int i = from; i < to; i++) {
+				double e = expected[i];
+				double a = actual[i];
+				if (!(Math.abs(a - e) <= value) && !same(e, a)) {
+					return i;
+				}
+			}
+			return -1;
+		case RELATIVE:
+			for (int i = from; i < to; i++) {
+				double e = expected[i];
+				double a = actual[i];
+				if (!(Math.abs(a - e) <= value * Math.max(Math.abs(a), Math.abs(e))) && !same(e, a)) {
+					return i;
+				}
+			}
+			return -1;
+		default:
+			long ulps = (long) value;
+			for (int i = from; i < to; i++) {
+				double e = expected[i];
+				double a = actual[i];
+				if (!ulpsWithin(ordered(e), ordered(a), ulps) && !same(e, a)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	public int mismatch(float[] expected, float[] actual, int from, int to) {
+		switch (mode) {
+		case ABSOLUTE:
+			for (int i = from; i < to; i++) {
+				double e = expected[i];
+				double a = actual[i];
+				if (!(Math.abs(a - e) <= value) && !same(e, a)) {
+					return i;
+				}
+			}
+			return -1;
+		case RELATIVE:
+			for (int i = from; i < to; i++) {
+				double e = expected[i];
+				double a = actual[i];
+				if (!(Math.abs(a - e) <= value * Math.max(Math.abs(a), Math.abs(e))) && !same(e, a)) {
+					return i;
+				}
+			}
+			return -1;
+		default:
+			long ulps = (long) value;
+			for (int i = from; i < to; i++) {
+				float e = expected[i];
+				float a = actual[i];
+				if (!ulpsWithin(ordered(e), ordered(a), ulps) && !same(e, a)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	private static boolean same(double e, double a) {
+		return e == a || e != e && a != a;
+	}
+
+	private static boolean ulpsWithin(long e, long a, long ulps) {
+		if ((e ^ a) >= 0) {
+			return Math.abs(e - a) <= ulps;
+		} else {
+			return Math.abs((double) e - (double) a) <= ulps;
+		}
+	}
+
+	private static long ordered(double value) {
+		long bits = Double.doubleToLongBits(value);
+		return bits < 0 ? Long.MIN_VALUE - bits : bits;
+	}
+
+	private static long ordered(float value) {
+		int bits = Float.floatToIntBits(value);
+		return bits < 0 ? Integer.MIN_VALUE - bits : bits;
+	}
+
+	private enum Mode {
+		ABSOLUTE, RELATIVE, ULP;
+	}
+
+}
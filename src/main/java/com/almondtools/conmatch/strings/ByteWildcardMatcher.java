@@ -0,0 +1,116 @@
+package com.almondtools.conmatch.strings;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+public abstract class ByteWildcardMatcher<T> extends TypeSafeDiagnosingMatcher<T> {
+
+	public static final long REGION_SIZE = 1L << 26;
+
+	private ByteWildcardPattern pattern;
+
+	public ByteWildcardMatcher(String pattern) {
+		this.pattern = ByteWildcardPattern.compile(pattern);
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		description.appendText("contains bytes ").appendValue(pattern.getPattern());
+	}
+
+	@Override
+	protected boolean matchesSafely(T item, Description mismatchDescription) {
+		try {
+			if (find(pattern, item)) {
+				return true;
+			}
+			mismatchDescription.appendText("no match in " + size(item) + " bytes");
+			return false;
+		} catch (IOException e) {
+			mismatchDescription.appendText("fails with " + e.getMessage());
+			return false;
+		}
+	}
+
+	protected abstract boolean find(ByteWildcardPattern pattern, T item) throws IOException;
+
+	protected abstract long size(T item) throws IOException;
+
+	public static ByteWildcardMatcher<byte[]> bytesContainPattern(String pattern) {
+		return new ByteArrayMatcher(pattern);
+	}
+
+	public static ByteWildcardMatcher<ByteBuffer> bufferContainsPattern(String pattern) {
+		return new ByteBufferMatcher(pattern);
+	}
+
+	public static ByteWildcardMatcher<Path> fileContainsBytePattern(String pattern) {
+		return new FileMatcher(pattern);
+	}
+
+	private static class ByteArrayMatcher extends ByteWildcardMatcher<byte[]> {
+
+		public ByteArrayMatcher(String pattern) {
+			super(pattern);
+		}
+
+		@Override
+		protected boolean find(ByteWildcardPattern pattern, byte[] item) {
+			return pattern.find(item);
+		}
+
+		@Override
+		protected long size(byte[] item) {
+			return item.length;
+		}
+
+	}
+
+	private static class ByteBufferMatcher extends ByteWildcardMatcher<ByteBuffer> {
+
+		public ByteBufferMatcher(String pattern) {
+			super(pattern);
+		}
+
+		@Override
+		protected boolean find(ByteWildcardPattern pattern, ByteBuffer item) {
+			return pattern.find(item);
+		}
+
+		@Override
+		protected long size(ByteBuffer item) {
+			return item.remaining();
+		}
+
+	}
+
+	private static class FileMatcher extends ByteWildcardMatcher<Path> {
+
+		public FileMatcher(String pattern) {
+			super(pattern);
+		}
+
+		@Override
+		protected boolean find(ByteWildcardPattern pattern, Path item) throws IOException {
+			try (FileChannel channel = FileChannel.open(item, READ)) {
+				return pattern.find(channel, REGION_SIZE);
+			}
+		}
+
+		@Override
+		protected long size(Path item) throws IOException {
+			try (FileChannel channel = FileChannel.open(item, READ)) {
+				return channel.size();
+			}
+		}
+
+	}
+
+}
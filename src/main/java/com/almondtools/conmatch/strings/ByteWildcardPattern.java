@@ -0,0 +1,212 @@
+package com.almondtools.conmatch.strings;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class ByteWildcardPattern {
+
+	private static final char ONE = '?';
+	private static final char ANY = '*';
+
+	private String pattern;
+	private Block[] blocks;
+
+	private ByteWildcardPattern(String pattern, Block[] blocks) {
+		this.pattern = pattern;
+		this.blocks = blocks;
+	}
+
+	public static ByteWildcardPattern compile(String pattern) {
+		List<Block> blocks = new ArrayList<>();
+		ByteArrayBuilder values = new ByteArrayBuilder();
+		ByteArrayBuilder masks = new ByteArrayBuilder();
+		int i = 0;
+		while (i < pattern.length()) {
+			char c = pattern.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+			} else if (c == ANY) {
+				addBlock(blocks, values, masks);
+				i++;
+			} else if (i + 1 < pattern.length()) {
+				int high = nibble(pattern, i);
+				int low = nibble(pattern, i + 1);
+				values.add((byte) (Math.max(high, 0) << 4 | Math.max(low, 0)));
+				masks.add((byte) ((high < 0 ? 0x00 : 0xf0) | (low < 0 ? 0x00 : 0x0f)));
+				i += 2;
+			} else {
+				throw new IllegalArgumentException("incomplete byte in pattern " + pattern + " at " + i);
+			}
+		}
+		addBlock(blocks, values, masks);
+		return new ByteWildcardPattern(pattern, blocks.toArray(new Block[0]));
+	}
+
+	private static int nibble(String pattern, int i) {
+		char c = pattern.charAt(i);
+		if (c == ONE) {
+			return -1;
+		}
+		int value = Character.digit(c, 16);
+		if (value < 0) {
+			throw new IllegalArgumentException("illegal char '" + c + "' in pattern " + pattern + " at " + i);
+		}
+		return value;
+	}
+
+	private static void addBlock(List<Block> blocks, ByteArrayBuilder values, ByteArrayBuilder masks) {
+		if (values.size() > 0) {
+			blocks.add(new Block(values.toArray(), masks.toArray()));
+		}
+		values.clear();
+		masks.clear();
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	public boolean find(byte[] bytes) {
+		return find(ByteBuffer.wrap(bytes));
+	}
+
+	public boolean find(ByteBuffer bytes) {
+		int pos = bytes.position();
+		int limit = bytes.limit();
+		for (Block block : blocks) {
+			pos = block.find(bytes, pos, limit);
+			if (pos < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean find(FileChannel channel, long regionSize) throws IOException {
+		long size = channel.size();
+		long regionStart = 0;
+		long pos = 0;
+		int block = 0;
+		while (block < blocks.length) {
+			if (regionStart >= size) {
+				return false;
+			}
+			long length = Math.min(Math.max(regionSize, 2L * blocks[block].length()), size - regionStart);
+			ByteBuffer region = channel.map(READ_ONLY, regionStart, length);
+			int from = (int) Math.max(pos - regionStart, 0);
+			while (block < blocks.length) {
+				int end = blocks[block].find(region, from, (int) length);
+				if (end < 0) {
+					break;
+				}
+				from = end;
+				pos = regionStart + end;
+				block++;
+			}
+			if (block < blocks.length) {
+				if (regionStart + length == size) {
+					return false;
+				}
+				regionStart = Math.max(pos, regionStart + length - blocks[block].length() + 1);
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+
+	private static class Block {
+
+		private int[] values;
+		private int[] masks;
+		private int[] shift;
+
+		public Block(byte[] values, byte[] masks) {
+			this.values = new int[values.length];
+			this.masks = new int[masks.length];
+			for (int i = 0; i < values.length; i++) {
+				this.masks[i] = masks[i] & 0xff;
+				this.values[i] = values[i] & this.masks[i];
+			}
+			int last = values.length - 1;
+			this.shift = new int[256];
+			Arrays.fill(shift, values.length);
+			for (int i = 0; i < last; i++) {
+				for (int b = 0; b < 256; b++) {
+					if ((b & this.masks[i]) == this.values[i]) {
+						shift[b] = last - i;
+					}
+				}
+			}
+		}
+
+		public int length() {
+			return values.length;
+		}
+
+		public int find(ByteBuffer bytes, int from, int to) {
+			int length = values.length;
+			int last = length - 1;
+			int end = to - last;
+			int start = from;
+			while (start < end) {
+				byte b = bytes.get(start + last);
+				if (matchesAt(bytes, start)) {
+					return start + length;
+				}
+				start += shift[b & 0xff];
+			}
+			return -1;
+		}
+
+		private boolean matchesAt(ByteBuffer bytes, int start) {
+			for (int i = values.length - 1; i >= 0; i--) {
+				if ((bytes.get(start + i) & masks[i]) != values[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	private static class ByteArrayBuilder {
+
+		private byte[] bytes;
+		private int size;
+
+		public ByteArrayBuilder() {
+			this.bytes = new byte[16];
+		}
+
+		public void add(byte b) {
+			if (size == bytes.length) {
+				bytes = Arrays.copyOf(bytes, size * 2);
+			}
+			bytes[size++] = b;
+		}
+
+		public int size() {
+			return size;
+		}
+
+		public void clear() {
+			size = 0;
+		}
+
+		public byte[] toArray() {
+			return Arrays.copyOf(bytes, size);
+		}
+
+	}
+
+}
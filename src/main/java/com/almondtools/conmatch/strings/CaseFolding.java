@@ -0,0 +1,55 @@
+package com.almondtools.conmatch.strings;
+
+class CaseFolding implements CharSequence {
+
+	private CharSequence text;
+
+	public CaseFolding(CharSequence text) {
+		this.text = text;
+	}
+
+	public static char fold(char c) {
+		return Table.FOLDED[c];
+	}
+
+	@Override
+	public int length() {
+		return text.length();
+	}
+
+	@Override
+	public char charAt(int index) {
+		return Table.FOLDED[text.charAt(index)];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return new CaseFolding(text.subSequence(start, end));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			buffer.append(charAt(i));
+		}
+		return buffer.toString();
+	}
+
+	private static class Table {
+
+		private static final char[] FOLDED = new char[Character.MAX_VALUE + 1];
+
+		static {
+			for (int c = 0; c <= Character.MAX_VALUE; c++) {
+				if (Character.isSurrogate((char) c)) {
+					FOLDED[c] = (char) c;
+				} else {
+					FOLDED[c] = Character.toLowerCase(Character.toUpperCase((char) c));
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,198 @@
+package com.almondtools.conmatch.strings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import com.almondtools.conmatch.strings.WildcardPattern.Block;
+
+public class MultiWildcardPattern {
+
+	private WildcardPattern[] patterns;
+	private Node root;
+
+	public MultiWildcardPattern(WildcardPattern... patterns) {
+		for (WildcardPattern pattern : patterns) {
+			if (pattern.getFlags() != patterns[0].getFlags()) {
+				throw new IllegalArgumentException("all patterns must be compiled with the same flags");
+			}
+		}
+		this.patterns = patterns;
+		this.root = compile(patterns);
+	}
+
+	private static Node compile(WildcardPattern[] patterns) {
+		Map<String, List<Target>> segments = new LinkedHashMap<>();
+		for (int p = 0; p < patterns.length; p++) {
+			Block[] blocks = patterns[p].blocks();
+			for (int b = 0; b < blocks.length; b++) {
+				String segment = blocks[b].lastSegment();
+				List<Target> targets = segments.get(segment);
+				if (targets == null) {
+					targets = new ArrayList<>();
+					segments.put(segment, targets);
+				}
+				targets.add(new Target(p, b));
+			}
+		}
+		Node root = new Node();
+		for (Map.Entry<String, List<Target>> entry : segments.entrySet()) {
+			Node node = root;
+			for (char c : entry.getKey().toCharArray()) {
+				node = node.extend(c);
+			}
+			node.targets = entry.getValue().toArray(new Target[0]);
+		}
+		link(root);
+		return root;
+	}
+
+	private static void link(Node root) {
+		Queue<Node> queue = new LinkedList<>();
+		root.fail = root;
+		for (Node child : root.next) {
+			child.fail = root;
+			queue.add(child);
+		}
+		while (!queue.isEmpty()) {
+			Node node = queue.remove();
+			for (int i = 0; i < node.chars.length; i++) {
+				char c = node.chars[i];
+				Node child = node.next[i];
+				Node fail = node.fail;
+				while (fail != root && fail.get(c) == null) {
+					fail = fail.fail;
+				}
+				Node target = fail.get(c);
+				child.fail = target == null ? root : target;
+				child.targets = concat(child.targets, child.fail.targets);
+				queue.add(child);
+			}
+		}
+	}
+
+	private static Target[] concat(Target[] targets, Target[] inherited) {
+		if (inherited.length == 0) {
+			return targets;
+		}
+		Target[] all = Arrays.copyOf(targets, targets.length + inherited.length);
+		System.arraycopy(inherited, 0, all, targets.length, inherited.length);
+		return all;
+	}
+
+	public WildcardPattern[] getPatterns() {
+		return patterns;
+	}
+
+	public BitSet findAll(CharSequence text) {
+		return find(text, patterns.length);
+	}
+
+	public BitSet findAny(CharSequence text) {
+		return find(text, 1);
+	}
+
+	private BitSet find(CharSequence text, int required) {
+		if (patterns.length > 0) {
+			text = patterns[0].fold(patterns[0].normalize(text));
+		}
+		BitSet found = new BitSet(patterns.length);
+		int[] current = new int[patterns.length];
+		int[] from = new int[patterns.length];
+		for (int p = 0; p < patterns.length; p++) {
+			if (patterns[p].blocks().length == 0) {
+				found.set(p);
+			}
+		}
+		int remaining = required - found.cardinality();
+		Node node = root;
+		for (int i = 0; i < text.length() && remaining > 0; i++) {
+			char c = text.charAt(i);
+			Node next = node.get(c);
+			while (next == null && node != root) {
+				node = node.fail;
+				next = node.get(c);
+			}
+			node = next == null ? root : next;
+			for (Target target : node.targets) {
+				int p = target.pattern;
+				if (current[p] != target.block) {
+					continue;
+				}
+				Block[] blocks = patterns[p].blocks();
+				if (blocks[target.block].startEndingAt(text, from[p], i + 1) >= 0) {
+					current[p]++;
+					from[p] = i + 1;
+					if (current[p] == blocks.length) {
+						found.set(p);
+						remaining--;
+					}
+				}
+			}
+		}
+		return found;
+	}
+
+	private static class Target {
+
+		private int pattern;
+		private int block;
+
+		public Target(int pattern, int block) {
+			this.pattern = pattern;
+			this.block = block;
+		}
+
+	}
+
+	private static class Node {
+
+		private static final Target[] NONE = new Target[0];
+
+		private char[] chars;
+		private Node[] next;
+		private Node fail;
+		private Target[] targets;
+
+		public Node() {
+			this.chars = new char[0];
+			this.next = new Node[0];
+			this.targets = NONE;
+		}
+
+		public Node get(char c) {
+			int index = Arrays.binarySearch(chars, c);
+			if (index < 0) {
+				return null;
+			}
+			return next[index];
+		}
+
+		public Node extend(char c) {
+			int index = Arrays.binarySearch(chars, c);
+			if (index >= 0) {
+				return next[index];
+			}
+			int insert = -index - 1;
+			Node node = new Node();
+			char[] newChars = new char[chars.length + 1];
+			Node[] newNext = new Node[next.length + 1];
+			System.arraycopy(chars, 0, newChars, 0, insert);
+			System.arraycopy(next, 0, newNext, 0, insert);
+			newChars[insert] = c;
+			newNext[insert] = node;
+			System.arraycopy(chars, insert, newChars, insert + 1, chars.length - insert);
+			System.arraycopy(next, insert, newNext, insert + 1, next.length - insert);
+			chars = newChars;
+			next = newNext;
+			return node;
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.almondtools.conmatch.strings;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+
+public class MultiWildcardStringMatcher extends TypeSafeMatcher<String> {
+
+	private MultiWildcardPattern patterns;
+	private boolean all;
+
+	public MultiWildcardStringMatcher(boolean all, String... patterns) {
+		WildcardPattern[] compiled = new WildcardPattern[patterns.length];
+		for (int i = 0; i < patterns.length; i++) {
+			compiled[i] = WildcardPatternCache.shared().compile(patterns[i]);
+		}
+		this.patterns = new MultiWildcardPattern(compiled);
+		this.all = all;
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		description.appendText(all ? "contains all of " : "contains any of ").appendValueList("[", ", ", "]", patterns(null));
+	}
+
+	@Override
+	protected void describeMismatchSafely(String item, Description mismatchDescription) {
+		BitSet found = patterns.findAll(item);
+		mismatchDescription.appendText("missing patterns ").appendValueList("[", ", ", "]", patterns(found));
+	}
+
+	private List<String> patterns(BitSet excluded) {
+		List<String> selected = new ArrayList<>();
+		WildcardPattern[] all = patterns.getPatterns();
+		for (int i = 0; i < all.length; i++) {
+			if (excluded == null || !excluded.get(i)) {
+				selected.add(all[i].getPattern());
+			}
+		}
+		return selected;
+	}
+
+	@Override
+	protected boolean matchesSafely(String item) {
+		if (all) {
+			return patterns.findAll(item).cardinality() == patterns.getPatterns().length;
+		} else {
+			return !patterns.findAny(item).isEmpty();
+		}
+	}
+
+	public static MultiWildcardStringMatcher containsAllPatterns(String... patterns) {
+		return new MultiWildcardStringMatcher(true, patterns);
+	}
+
+	public static MultiWildcardStringMatcher containsAnyPattern(String... patterns) {
+		return new MultiWildcardStringMatcher(false, patterns);
+	}
+
+}
@@ -0,0 +1,167 @@
+package com.almondtools.conmatch.strings;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.Buffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.Path;
+
+import org.hamcrest.Description;
+
+import com.almondtools.conmatch.util.SinglePassMatcher;
+
+public abstract class StreamingWildcardMatcher<T> extends SinglePassMatcher<T> {
+
+	public static final int BUFFER_SIZE = 8192;
+	public static final long REGION_SIZE = 1L << 26;
+
+	private WildcardPattern pattern;
+
+	public StreamingWildcardMatcher(String pattern) {
+		this.pattern = WildcardPatternCache.shared().compile(pattern);
+	}
+
+	public StreamingWildcardMatcher<T> ignoringCase() {
+		this.pattern = WildcardPatternCache.shared().compile(pattern.getPattern(), pattern.getFlags() | WildcardPattern.CASE_INSENSITIVE);
+		return this;
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		description.appendText("contains ").appendValue(pattern.getPattern());
+		pattern.describeFlags(description);
+	}
+
+	@Override
+	protected boolean matchesOnce(T item, Description mismatchDescription) {
+		WildcardPattern.Scanner scanner = pattern.scanner();
+		try {
+			long chars = scan(item, scanner);
+			if (scanner.matched()) {
+				return true;
+			}
+			mismatchDescription.appendText("no match in " + chars + " chars");
+			return false;
+		} catch (IOException e) {
+			mismatchDescription.appendText("fails with " + e.getMessage());
+			return false;
+		}
+	}
+
+	protected abstract long scan(T item, WildcardPattern.Scanner scanner) throws IOException;
+
+	protected static long read(Reader reader, WildcardPattern.Scanner scanner) throws IOException {
+		char[] buffer = new char[BUFFER_SIZE];
+		long chars = 0;
+		int read = reader.read(buffer);
+		while (read >= 0) {
+			chars += read;
+			if (scanner.feed(buffer, 0, read)) {
+				break;
+			}
+			read = reader.read(buffer);
+		}
+		return chars;
+	}
+
+	public static StreamingWildcardMatcher<Reader> readerContainsPattern(String pattern) {
+		return new ReaderMatcher(pattern);
+	}
+
+	public static StreamingWildcardMatcher<InputStream> inputStreamContainsPattern(String pattern, Charset charset) {
+		return new InputStreamMatcher(pattern, charset);
+	}
+
+	public static StreamingWildcardMatcher<Path> fileContainsPattern(String pattern, Charset charset) {
+		return new FileMatcher(pattern, charset);
+	}
+
+	private static class ReaderMatcher extends StreamingWildcardMatcher<Reader> {
+
+		public ReaderMatcher(String pattern) {
+			super(pattern);
+		}
+
+		@Override
+		protected long scan(Reader item, WildcardPattern.Scanner scanner) throws IOException {
+			return read(item, scanner);
+		}
+
+	}
+
+	private static class InputStreamMatcher extends StreamingWildcardMatcher<InputStream> {
+
+		private Charset charset;
+
+		public InputStreamMatcher(String pattern, Charset charset) {
+			super(pattern);
+			this.charset = charset;
+		}
+
+		@Override
+		protected long scan(InputStream item, WildcardPattern.Scanner scanner) throws IOException {
+			return read(new InputStreamReader(item, charset), scanner);
+		}
+
+	}
+
+	private static class FileMatcher extends StreamingWildcardMatcher<Path> {
+
+		private Charset charset;
+
+		public FileMatcher(String pattern, Charset charset) {
+			super(pattern);
+			this.charset = charset;
+		}
+
+		@Override
+		protected long scan(Path item, WildcardPattern.Scanner scanner) throws IOException {
+			try (FileChannel channel = FileChannel.open(item, READ)) {
+				CharsetDecoder decoder = charset.newDecoder()
+					.onMalformedInput(REPLACE)
+					.onUnmappableCharacter(REPLACE);
+				CharBuffer buffer = CharBuffer.allocate(BUFFER_SIZE);
+				long chars = 0;
+				long size = channel.size();
+				long position = 0;
+				while (position < size) {
+					long length = Math.min(REGION_SIZE, size - position);
+					boolean last = position + length == size;
+					MappedByteBuffer bytes = channel.map(READ_ONLY, position, length);
+					CoderResult result;
+					do {
+						result = decoder.decode(bytes, buffer, last);
+						((Buffer) buffer).flip();
+						chars += buffer.remaining();
+						if (scanner.feed(buffer)) {
+							return chars;
+						}
+						((Buffer) buffer).clear();
+					} while (result.isOverflow());
+					if (last) {
+						decoder.flush(buffer);
+						((Buffer) buffer).flip();
+						chars += buffer.remaining();
+						scanner.feed(buffer);
+						break;
+					}
+					position += bytes.position();
+				}
+				return chars;
+			}
+		}
+
+	}
+
+}
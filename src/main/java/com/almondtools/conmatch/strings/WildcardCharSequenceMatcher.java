@@ -0,0 +1,44 @@
+package com.almondtools.conmatch.strings;
+
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+
+public class WildcardCharSequenceMatcher extends TypeSafeMatcher<CharSequence> {
+
+	private WildcardPattern pattern;
+
+	public WildcardCharSequenceMatcher(String pattern) {
+		this.pattern = WildcardPatternCache.shared().compile(pattern);
+	}
+
+	public WildcardCharSequenceMatcher ignoringCase() {
+		this.pattern = WildcardPatternCache.shared().compile(pattern.getPattern(), pattern.getFlags() | WildcardPattern.CASE_INSENSITIVE);
+		return this;
+	}
+
+	public WildcardCharSequenceMatcher normalized() {
+		this.pattern = WildcardPatternCache.shared().compile(pattern.getPattern(), pattern.getFlags() | WildcardPattern.NORMALIZED);
+		return this;
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		description.appendText("contains ").appendValue(pattern.getPattern());
+		pattern.describeFlags(description);
+	}
+
+	@Override
+	protected void describeMismatchSafely(CharSequence item, Description mismatchDescription) {
+		pattern.match(item).describeMismatch(mismatchDescription);
+	}
+
+	@Override
+	protected boolean matchesSafely(CharSequence item) {
+		return pattern.find(item);
+	}
+
+	public static WildcardCharSequenceMatcher charSequenceContainsPattern(String pattern) {
+		return new WildcardCharSequenceMatcher(pattern);
+	}
+
+}
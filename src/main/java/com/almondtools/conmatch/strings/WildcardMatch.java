@@ -0,0 +1,63 @@
+package com.almondtools.conmatch.strings;
+
+import org.hamcrest.Description;
+
+public class WildcardMatch {
+
+	public static final int WINDOW = 40;
+
+	private CharSequence text;
+	private String matchedPattern;
+	private int start;
+	private int end;
+	private boolean complete;
+
+	public WildcardMatch(CharSequence text, String matchedPattern, int start, int end, boolean complete) {
+		this.text = text;
+		this.matchedPattern = matchedPattern;
+		this.start = start;
+		this.end = end;
+		this.complete = complete;
+	}
+
+	public String getMatchedPattern() {
+		return matchedPattern;
+	}
+
+	public int getStart() {
+		return start;
+	}
+
+	public int getEnd() {
+		return end;
+	}
+
+	public boolean isComplete() {
+		return complete;
+	}
+
+	public void describeMismatch(Description description) {
+		int length = text.length();
+		int from = Math.max(0, end - WINDOW);
+		int to = Math.min(length, end + WINDOW);
+		description.appendText("was ").appendValue(text.subSequence(from, to).toString());
+		if (from > 0 || to < length) {
+			description.appendText(" (chars " + from + " to " + to + " of " + length + ")");
+		}
+		if (matchedPattern.isEmpty()) {
+			description.appendText(" without any partial match");
+		} else {
+			description.appendText(" matching ").appendValue(matchedPattern).appendText(" up to offset " + end);
+		}
+	}
+
+	@Override
+	public String toString() {
+		if (complete) {
+			return "match " + matchedPattern + " at " + start + " to " + end;
+		} else {
+			return "partial match " + matchedPattern + " up to " + end;
+		}
+	}
+
+}
@@ -0,0 +1,684 @@
+package com.almondtools.conmatch.strings;
+
+import static java.text.Normalizer.Form.NFC;
+
+import java.nio.CharBuffer;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.hamcrest.Description;
+
+public final class WildcardPattern {
+
+	public static final int CASE_INSENSITIVE = 1;
+	public static final int NORMALIZED = 2;
+
+	private static final char ONE = '?';
+	private static final char ANY = '*';
+
+	private String pattern;
+	private int flags;
+	private String normalized;
+	private Block[] blocks;
+
+	private WildcardPattern(String pattern, int flags, String normalized, Block[] blocks) {
+		this.pattern = pattern;
+		this.flags = flags;
+		this.normalized = normalized;
+		this.blocks = blocks;
+	}
+
+	public static WildcardPattern compile(String pattern) {
+		return compile(pattern, 0);
+	}
+
+	public static WildcardPattern compile(String pattern, int flags) {
+		String normalized = (flags & NORMALIZED) != 0 ? Normalizer.normalize(pattern, NFC) : pattern;
+		boolean fold = (flags & CASE_INSENSITIVE) != 0;
+		List<Block> blocks = new ArrayList<>();
+		StringBuilder block = new StringBuilder();
+		int offset = 0;
+		for (int i = 0; i < normalized.length(); i++) {
+			char c = normalized.charAt(i);
+			if (fold) {
+				c = CaseFolding.fold(c);
+			}
+			if (c == ANY) {
+				addBlock(blocks, block, offset);
+				block.setLength(0);
+				offset = i + 1;
+			} else {
+				block.append(c);
+			}
+		}
+		addBlock(blocks, block, offset);
+		return new WildcardPattern(pattern, flags, normalized, blocks.toArray(new Block[0]));
+	}
+
+	private static void addBlock(List<Block> blocks, StringBuilder block, int offset) {
+		int start = 0;
+		int end = block.length();
+		while (start < end && block.charAt(start) == ONE) {
+			start++;
+		}
+		while (end > start && block.charAt(end - 1) == ONE) {
+			end--;
+		}
+		if (start == end) {
+			return;
+		}
+		blocks.add(block(block.substring(start, end)).at(offset + start));
+	}
+
+	private static Block block(String positions) {
+		if (positions.indexOf(ONE) < 0) {
+			return new LiteralBlock(positions);
+		} else if (positions.length() <= Long.SIZE) {
+			return new ShiftAndBlock(positions);
+		} else {
+			return new WideShiftAndBlock(positions);
+		}
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	public int getFlags() {
+		return flags;
+	}
+
+	Block[] blocks() {
+		return blocks;
+	}
+
+	void describeFlags(Description description) {
+		if ((flags & CASE_INSENSITIVE) != 0) {
+			description.appendText(" ignoring case");
+		}
+		if ((flags & NORMALIZED) != 0) {
+			description.appendText(" after NFC normalization");
+		}
+	}
+
+	CharSequence normalize(CharSequence text) {
+		if ((flags & NORMALIZED) == 0 || Normalizer.isNormalized(text, NFC)) {
+			return text;
+		}
+		return Normalizer.normalize(text, NFC);
+	}
+
+	CharSequence fold(CharSequence text) {
+		if ((flags & CASE_INSENSITIVE) == 0) {
+			return text;
+		}
+		return new CaseFolding(text);
+	}
+
+	public boolean find(CharSequence text) {
+		return findPrepared(fold(normalize(text)));
+	}
+
+	private boolean findPrepared(CharSequence text) {
+		int pos = 0;
+		for (Block block : blocks) {
+			pos = block.find(text, pos);
+			if (pos < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public WildcardMatch match(CharSequence text) {
+		CharSequence normalizedText = normalize(text);
+		return matchPrepared(fold(normalizedText), normalizedText);
+	}
+
+	private WildcardMatch matchPrepared(CharSequence text, CharSequence original) {
+		int start = 0;
+		int pos = 0;
+		for (int i = 0; i < blocks.length; i++) {
+			Block block = blocks[i];
+			int end = block.find(text, pos);
+			if (end < 0) {
+				return partialMatch(block, text, original, pos, i == 0 ? -1 : start);
+			}
+			if (i == 0) {
+				start = block.startEndingAt(text, 0, end);
+			}
+			pos = end;
+		}
+		return new WildcardMatch(original, normalized, start, pos, true);
+	}
+
+	private WildcardMatch partialMatch(Block block, CharSequence text, CharSequence original, int from, int start) {
+		long[] state = new long[block.words()];
+		int prefix = 0;
+		int end = from;
+		for (int i = from; i < text.length(); i++) {
+			block.step(state, text.charAt(i));
+			int next = block.prefix(state);
+			if (next > prefix) {
+				prefix = next;
+				end = i + 1;
+			}
+		}
+		if (prefix == 0 && start < 0) {
+			return new WildcardMatch(original, "", start, from, false);
+		} else if (prefix == 0) {
+			return new WildcardMatch(original, normalized.substring(0, block.offset), start, from, false);
+		}
+		return new WildcardMatch(original, normalized.substring(0, block.offset + prefix), start, end, false);
+	}
+
+	public Scanner scanner() {
+		if ((flags & NORMALIZED) != 0) {
+			throw new UnsupportedOperationException("normalized patterns cannot be scanned incrementally");
+		}
+		return new Scanner();
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+
+	public class Scanner {
+
+		private int block;
+		private long[] state;
+
+		private Scanner() {
+			int words = 1;
+			for (Block block : blocks) {
+				words = Math.max(words, block.words());
+			}
+			this.state = new long[words];
+		}
+
+		public boolean feed(char c) {
+			if ((flags & CASE_INSENSITIVE) != 0) {
+				c = CaseFolding.fold(c);
+			}
+			if (block < blocks.length && blocks[block].step(state, c)) {
+				block++;
+				Arrays.fill(state, 0);
+			}
+			return block == blocks.length;
+		}
+
+		public boolean feed(char[] chars, int offset, int length) {
+			int end = offset + length;
+			for (int i = offset; i < end && block < blocks.length; i++) {
+				feed(chars[i]);
+			}
+			return block == blocks.length;
+		}
+
+		public boolean feed(CharBuffer chars) {
+			while (chars.hasRemaining() && block < blocks.length) {
+				feed(chars.get());
+			}
+			return block == blocks.length;
+		}
+
+		public boolean matched() {
+			return block == blocks.length;
+		}
+
+		public void reset() {
+			block = 0;
+			Arrays.fill(state, 0);
+		}
+
+	}
+
+	abstract static class Block {
+
+		private int offset;
+
+		public Block at(int offset) {
+			this.offset = offset;
+			return this;
+		}
+
+		public abstract String lastSegment();
+
+		public abstract int find(CharSequence text, int from);
+
+		public abstract int startEndingAt(CharSequence text, int from, int end);
+
+		public abstract int words();
+
+		public abstract boolean step(long[] state, char c);
+
+		public abstract int prefix(long[] state);
+
+	}
+
+	private static String lastSegment(String positions) {
+		return positions.substring(positions.lastIndexOf(ONE) + 1);
+	}
+
+	private static String reverse(String positions) {
+		return new StringBuilder(positions).reverse().toString();
+	}
+
+	private static class LiteralBlock extends Block {
+
+		private String literal;
+		private char lastChar;
+		private int[] shift;
+		private volatile Block automaton;
+
+		public LiteralBlock(String literal) {
+			this.literal = literal;
+			int last = literal.length() - 1;
+			this.lastChar = literal.charAt(last);
+			this.shift = new int[256];
+			Arrays.fill(shift, literal.length());
+			for (int i = 0; i < last; i++) {
+				shift[literal.charAt(i) & 0xff] = last - i;
+			}
+		}
+
+		private Block automaton() {
+			Block automaton = this.automaton;
+			if (automaton == null) {
+				if (literal.length() <= Long.SIZE) {
+					automaton = new ShiftAndBlock(literal);
+				} else {
+					automaton = new WideShiftAndBlock(literal);
+				}
+				this.automaton = automaton;
+			}
+			return automaton;
+		}
+
+		@Override
+		public String lastSegment() {
+			return literal;
+		}
+
+		@Override
+		public int find(CharSequence text, int from) {
+			if (text instanceof String) {
+				int start = ((String) text).indexOf(literal, from);
+				if (start < 0) {
+					return -1;
+				}
+				return start + literal.length();
+			}
+			int length = literal.length();
+			int last = length - 1;
+			int end = text.length() - last;
+			int start = from;
+			while (start < end) {
+				char c = text.charAt(start + last);
+				if (c == lastChar && matchesAt(text, start)) {
+					return start + length;
+				}
+				start += shift[c & 0xff];
+			}
+			return -1;
+		}
+
+		private boolean matchesAt(CharSequence text, int start) {
+			for (int i = literal.length() - 2; i >= 0; i--) {
+				if (text.charAt(start + i) != literal.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int startEndingAt(CharSequence text, int from, int end) {
+			int start = end - literal.length();
+			if (start >= from && matchesAt(text, start) && text.charAt(end - 1) == lastChar) {
+				return start;
+			}
+			return -1;
+		}
+
+		@Override
+		public int words() {
+			return automaton().words();
+		}
+
+		@Override
+		public boolean step(long[] state, char c) {
+			return automaton().step(state, c);
+		}
+
+		@Override
+		public int prefix(long[] state) {
+			return automaton().prefix(state);
+		}
+
+	}
+
+	private static class ShiftAndBlock extends Block {
+
+		private String positions;
+		private volatile ShiftAndBlock reversed;
+		private long[] latin;
+		private char[] chars;
+		private long[] masks;
+		private long any;
+		private long[] runs;
+		private long accept;
+
+		public ShiftAndBlock(String positions) {
+			this.positions = positions;
+			int length = positions.length();
+			this.latin = new long[256];
+			for (int i = 0; i < length; i++) {
+				if (positions.charAt(i) == ONE) {
+					any |= 1L << i;
+				}
+			}
+			Arrays.fill(latin, any);
+			SortedMap<Character, Long> high = new TreeMap<>();
+			for (int i = 0; i < length; i++) {
+				char c = positions.charAt(i);
+				if (c == ONE) {
+					continue;
+				} else if (c < latin.length) {
+					latin[c] |= 1L << i;
+				} else {
+					Long mask = high.get(c);
+					high.put(c, (mask == null ? any : mask) | 1L << i);
+				}
+			}
+			this.chars = new char[high.size()];
+			this.masks = new long[high.size()];
+			int next = 0;
+			for (Map.Entry<Character, Long> entry : high.entrySet()) {
+				chars[next] = entry.getKey();
+				masks[next] = entry.getValue();
+				next++;
+			}
+			List<Long> runs = new ArrayList<>();
+			int i = 0;
+			while (i < length) {
+				if (positions.charAt(i) == ONE) {
+					long run = 0;
+					while (positions.charAt(i) == ONE) {
+						run |= 1L << i;
+						i++;
+					}
+					runs.add(run);
+				} else {
+					i++;
+				}
+			}
+			this.runs = new long[runs.size()];
+			for (int j = 0; j < this.runs.length; j++) {
+				this.runs[j] = runs.get(j);
+			}
+			this.accept = 1L << (length - 1);
+		}
+
+		private long mask(char c) {
+			if (c < latin.length) {
+				return latin[c];
+			}
+			int index = Arrays.binarySearch(chars, c);
+			if (index < 0) {
+				return any;
+			}
+			return masks[index];
+		}
+
+		private long next(long state, long start, char c) {
+			state = ((state << 1) | start) & mask(c);
+			for (long run : runs) {
+				long reaching = state & (run >>> 1);
+				if (reaching != 0) {
+					state |= run & -(Long.lowestOneBit(reaching) << 1);
+				}
+			}
+			return state;
+		}
+
+		@Override
+		public String lastSegment() {
+			return WildcardPattern.lastSegment(positions);
+		}
+
+		@Override
+		public int find(CharSequence text, int from) {
+			long state = 0;
+			for (int i = from; i < text.length(); i++) {
+				state = next(state, 1L, text.charAt(i));
+				if ((state & accept) != 0) {
+					return i + 1;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public int startEndingAt(CharSequence text, int from, int end) {
+			ShiftAndBlock reversed = this.reversed;
+			if (reversed == null) {
+				reversed = new ShiftAndBlock(reverse(positions));
+				this.reversed = reversed;
+			}
+			long state = 0;
+			long start = 1L;
+			for (int i = end - 1; i >= from; i--) {
+				state = reversed.next(state, start, text.charAt(i));
+				if ((state & reversed.accept) != 0) {
+					return i;
+				} else if (state == 0) {
+					return -1;
+				}
+				start = 0;
+			}
+			return -1;
+		}
+
+		@Override
+		public int words() {
+			return 1;
+		}
+
+		@Override
+		public boolean step(long[] state, char c) {
+			state[0] = next(state[0], 1L, c);
+			return (state[0] & accept) != 0;
+		}
+
+		@Override
+		public int prefix(long[] state) {
+			return Long.SIZE - Long.numberOfLeadingZeros(state[0]);
+		}
+
+	}
+
+	private static class WideShiftAndBlock extends Block {
+
+		private String positions;
+		private volatile WideShiftAndBlock reversed;
+		private int length;
+		private int words;
+		private long[][] latin;
+		private char[] chars;
+		private long[][] masks;
+		private long[] any;
+		private int[] runStarts;
+		private int[] runEnds;
+
+		public WideShiftAndBlock(String positions) {
+			this.positions = positions;
+			this.length = positions.length();
+			this.words = (length + Long.SIZE - 1) / Long.SIZE;
+			this.any = new long[words];
+			for (int i = 0; i < length; i++) {
+				if (positions.charAt(i) == ONE) {
+					set(any, i);
+				}
+			}
+			this.latin = new long[256][];
+			Arrays.fill(latin, any);
+			SortedMap<Character, long[]> high = new TreeMap<>();
+			for (int i = 0; i < length; i++) {
+				char c = positions.charAt(i);
+				if (c == ONE) {
+					continue;
+				} else if (c < latin.length) {
+					if (latin[c] == any) {
+						latin[c] = any.clone();
+					}
+					set(latin[c], i);
+				} else {
+					long[] mask = high.get(c);
+					if (mask == null) {
+						mask = any.clone();
+						high.put(c, mask);
+					}
+					set(mask, i);
+				}
+			}
+			this.chars = new char[high.size()];
+			this.masks = new long[high.size()][];
+			int next = 0;
+			for (Map.Entry<Character, long[]> entry : high.entrySet()) {
+				chars[next] = entry.getKey();
+				masks[next] = entry.getValue();
+				next++;
+			}
+			List<Integer> starts = new ArrayList<>();
+			List<Integer> ends = new ArrayList<>();
+			int i = 0;
+			while (i < length) {
+				if (positions.charAt(i) == ONE) {
+					starts.add(i);
+					while (positions.charAt(i) == ONE) {
+						i++;
+					}
+					ends.add(i - 1);
+				} else {
+					i++;
+				}
+			}
+			this.runStarts = new int[starts.size()];
+			this.runEnds = new int[ends.size()];
+			for (int j = 0; j < runStarts.length; j++) {
+				runStarts[j] = starts.get(j);
+				runEnds[j] = ends.get(j);
+			}
+		}
+
+		private static void set(long[] bits, int i) {
+			bits[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+		}
+
+		private static boolean isSet(long[] bits, int i) {
+			return (bits[i / Long.SIZE] & (1L << (i % Long.SIZE))) != 0;
+		}
+
+		private long[] mask(char c) {
+			if (c < latin.length) {
+				return latin[c];
+			}
+			int index = Arrays.binarySearch(chars, c);
+			if (index < 0) {
+				return any;
+			}
+			return masks[index];
+		}
+
+		private boolean next(long[] state, long start, char c) {
+			long[] mask = mask(c);
+			long active = 0;
+			for (int w = words - 1; w > 0; w--) {
+				state[w] = ((state[w] << 1) | (state[w - 1] >>> (Long.SIZE - 1))) & mask[w];
+				active |= state[w];
+			}
+			state[0] = ((state[0] << 1) | start) & mask[0];
+			active |= state[0];
+			for (int r = 0; r < runStarts.length; r++) {
+				int end = runEnds[r];
+				for (int j = runStarts[r] - 1; j < end; j++) {
+					if (isSet(state, j)) {
+						for (int k = j + 1; k <= end; k++) {
+							set(state, k);
+						}
+						break;
+					}
+				}
+			}
+			return active != 0;
+		}
+
+		@Override
+		public String lastSegment() {
+			return WildcardPattern.lastSegment(positions);
+		}
+
+		@Override
+		public int find(CharSequence text, int from) {
+			long[] state = new long[words];
+			for (int i = from; i < text.length(); i++) {
+				next(state, 1L, text.charAt(i));
+				if (isSet(state, length - 1)) {
+					return i + 1;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public int startEndingAt(CharSequence text, int from, int end) {
+			WideShiftAndBlock reversed = this.reversed;
+			if (reversed == null) {
+				reversed = new WideShiftAndBlock(reverse(positions));
+				this.reversed = reversed;
+			}
+			long[] state = new long[words];
+			long start = 1L;
+			for (int i = end - 1; i >= from; i--) {
+				boolean active = reversed.next(state, start, text.charAt(i));
+				if (isSet(state, length - 1)) {
+					return i;
+				} else if (!active) {
+					return -1;
+				}
+				start = 0;
+			}
+			return -1;
+		}
+
+		@Override
+		public int words() {
+			return words;
+		}
+
+		@Override
+		public boolean step(long[] state, char c) {
+			next(state, 1L, c);
+			return isSet(state, length - 1);
+		}
+
+		@Override
+		public int prefix(long[] state) {
+			for (int w = words - 1; w >= 0; w--) {
+				if (state[w] != 0) {
+					return w * Long.SIZE + Long.SIZE - Long.numberOfLeadingZeros(state[w]);
+				}
+			}
+			return 0;
+		}
+
+	}
+
+}
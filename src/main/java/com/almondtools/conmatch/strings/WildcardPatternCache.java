@@ -0,0 +1,152 @@
+package com.almondtools.conmatch.strings;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WildcardPatternCache {
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+	private static final WildcardPatternCache SHARED = new WildcardPatternCache(DEFAULT_MAXIMUM_SIZE);
+
+	private Patterns patterns;
+	private AtomicLong hits;
+	private AtomicLong misses;
+
+	public WildcardPatternCache(int maximumSize) {
+		this.patterns = new Patterns(checkedSize(maximumSize));
+		this.hits = new AtomicLong();
+		this.misses = new AtomicLong();
+	}
+
+	public static WildcardPatternCache shared() {
+		return SHARED;
+	}
+
+	public WildcardPattern compile(String pattern) {
+		return compile(pattern, 0);
+	}
+
+	public WildcardPattern compile(String pattern, int flags) {
+		Key key = new Key(pattern, flags);
+		WildcardPattern compiled;
+		synchronized (patterns) {
+			compiled = patterns.get(key);
+		}
+		if (compiled != null) {
+			hits.incrementAndGet();
+			return compiled;
+		}
+		misses.incrementAndGet();
+		compiled = WildcardPattern.compile(pattern, flags);
+		synchronized (patterns) {
+			WildcardPattern concurrent = patterns.get(key);
+			if (concurrent != null) {
+				return concurrent;
+			}
+			patterns.put(key, compiled);
+		}
+		return compiled;
+	}
+
+	public int getMaximumSize() {
+		synchronized (patterns) {
+			return patterns.maximumSize;
+		}
+	}
+
+	public void setMaximumSize(int maximumSize) {
+		synchronized (patterns) {
+			patterns.maximumSize = checkedSize(maximumSize);
+			patterns.shrink();
+		}
+	}
+
+	public int size() {
+		synchronized (patterns) {
+			return patterns.size();
+		}
+	}
+
+	public long hits() {
+		return hits.get();
+	}
+
+	public long misses() {
+		return misses.get();
+	}
+
+	public void clear() {
+		synchronized (patterns) {
+			patterns.clear();
+		}
+		hits.set(0);
+		misses.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return "WildcardPatternCache[size=" + size() + ", maximumSize=" + getMaximumSize() + ", hits=" + hits() + ", misses=" + misses() + "]";
+	}
+
+	private static int checkedSize(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximum size must not be negative: " + maximumSize);
+		}
+		return maximumSize;
+	}
+
+	private static class Key {
+
+		private String pattern;
+		private int flags;
+
+		public Key(String pattern, int flags) {
+			this.pattern = pattern;
+			this.flags = flags;
+		}
+
+		@Override
+		public int hashCode() {
+			return pattern.hashCode() * 31 + flags;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key that = (Key) obj;
+			return this.flags == that.flags
+				&& this.pattern.equals(that.pattern);
+		}
+
+	}
+
+	private static class Patterns extends LinkedHashMap<Key, WildcardPattern> {
+
+		private int maximumSize;
+
+		public Patterns(int maximumSize) {
+			super(16, 0.75f, true);
+			this.maximumSize = maximumSize;
+		}
+
+		public void shrink() {
+			Iterator<Key> keys = keySet().iterator();
+			while (size() > maximumSize && keys.hasNext()) {
+				keys.next();
+				keys.remove();
+			}
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, WildcardPattern> eldest) {
+			return size() > maximumSize;
+		}
+
+	}
+
+}
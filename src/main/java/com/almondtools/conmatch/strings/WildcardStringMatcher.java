@@ -1,44 +1,40 @@
 package com.almondtools.conmatch.strings;
 
-import static java.util.regex.Pattern.DOTALL;
-
-import java.util.StringTokenizer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeMatcher;
 
 public class WildcardStringMatcher extends TypeSafeMatcher<String> {
 
-	private String pattern;
+	private WildcardPattern pattern;
 
 	public WildcardStringMatcher(String pattern) {
-		this.pattern = pattern;
+		this.pattern = WildcardPatternCache.shared().compile(pattern);
+	}
+
+	public WildcardStringMatcher ignoringCase() {
+		this.pattern = WildcardPatternCache.shared().compile(pattern.getPattern(), pattern.getFlags() | WildcardPattern.CASE_INSENSITIVE);
+		return this;
+	}
+
+	public WildcardStringMatcher normalized() {
+		this.pattern = WildcardPatternCache.shared().compile(pattern.getPattern(), pattern.getFlags() | WildcardPattern.NORMALIZED);
+		return this;
 	}
 
 	@Override
 	public void describeTo(Description description) {
-		description.appendText("contains ").appendValue(pattern);
+		description.appendText("contains ").appendValue(pattern.getPattern());
+		pattern.describeFlags(description);
+	}
+
+	@Override
+	protected void describeMismatchSafely(String item, Description mismatchDescription) {
+		pattern.match(item).describeMismatch(mismatchDescription);
 	}
 
 	@Override
 	protected boolean matchesSafely(String item) {
-		StringTokenizer t = new StringTokenizer(pattern, "?*", true);
-		StringBuilder buffer = new StringBuilder();
-		while (t.hasMoreTokens()) {
-			String nextToken = t.nextToken();
-			if ("?".equals(nextToken)) {
-				buffer.append(".?");
-			} else if ("*".equals(nextToken)) {
-				buffer.append(".*?");
-			} else {
-				buffer.append(Pattern.quote(nextToken));
-			}
-		}
-		Pattern p = Pattern.compile(buffer.toString(), DOTALL);
-		Matcher m = p.matcher(item);
-		return m.find();
+		return pattern.find(item);
 	}
 
 	public static WildcardStringMatcher containsPattern(String pattern) {
@@ -0,0 +1,58 @@
+package com.almondtools.conmatch.util;
+
+import java.lang.ref.WeakReference;
+
+import org.hamcrest.Description;
+import org.hamcrest.StringDescription;
+import org.hamcrest.TypeSafeMatcher;
+
+public abstract class SinglePassMatcher<T> extends TypeSafeMatcher<T> {
+
+	private ThreadLocal<LastMismatch> last;
+
+	public SinglePassMatcher() {
+		this.last = new ThreadLocal<>();
+	}
+
+	public SinglePassMatcher(Class<?> type) {
+		super(type);
+		this.last = new ThreadLocal<>();
+	}
+
+	@Override
+	protected boolean matchesSafely(T item) {
+		StringDescription description = new StringDescription();
+		if (matchesOnce(item, description)) {
+			last.remove();
+			return true;
+		}
+		last.set(new LastMismatch(item, description.toString()));
+		return false;
+	}
+
+	@Override
+	protected void describeMismatchSafely(T item, Description mismatchDescription) {
+		LastMismatch recorded = last.get();
+		if (recorded != null && recorded.item.get() == item) {
+			last.remove();
+			mismatchDescription.appendText(recorded.mismatch);
+		} else {
+			matchesOnce(item, mismatchDescription);
+		}
+	}
+
+	protected abstract boolean matchesOnce(T item, Description mismatchDescription);
+
+	private static class LastMismatch {
+
+		private WeakReference<Object> item;
+		private String mismatch;
+
+		public LastMismatch(Object item, String mismatch) {
+			this.item = new WeakReference<>(item);
+			this.mismatch = mismatch;
+		}
+
+	}
+
+}
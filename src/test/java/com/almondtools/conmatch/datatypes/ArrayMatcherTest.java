@@ -3,8 +3,12 @@ package com.almondtools.conmatch.datatypes;
 import static com.almondtools.conmatch.datatypes.ArrayMatcher.arrayContaining;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -74,6 +78,43 @@ public class ArrayMatcherTest {
 		assertThat(arrayContaining(String.class, equalTo("foo"), equalTo("foobar")).matchesSafely(set), is(false));
 	}
 
+	@Test
+	public void testMatchesSafelyComparesBothEnds() throws Exception {
+		String[] set = array("foo", "bar", "baz");
+
+		assertThat(arrayContaining(String.class, "foo", "bar", "bar").matchesSafely(set), is(false));
+		assertThat(arrayContaining(String.class, "foo", "foo", "baz").matchesSafely(set), is(false));
+		assertThat(arrayContaining(String.class, "foo", "bar", "baz").matchesSafely(set), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrder() throws Exception {
+		String[] set = array("foo", "bar");
+
+		assertThat(arrayContaining(String.class, "bar", "foo").inAnyOrder().matchesSafely(set), is(true));
+		assertThat(arrayContaining(String.class, "bar", "bar").inAnyOrder().matchesSafely(set), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderWithValuesAndMatchers() throws Exception {
+		String[] set = array("foo", "bar", "foo", "baz");
+
+		assertThat(arrayContaining(String.class, startsWith("ba"), "foo", "bar", "foo").inAnyOrder().matchesSafely(set), is(true));
+		assertThat(arrayContaining(String.class, startsWith("ba"), "foo", "baz", "foo").inAnyOrder().matchesSafely(set), is(true));
+		assertThat(arrayContaining(String.class, startsWith("ba"), "foo", "foo", "foo").inAnyOrder().matchesSafely(set), is(false));
+		assertThat(arrayContaining(String.class, (String) null, "foo", "bar", "foo").inAnyOrder().matchesSafely(set), is(false));
+		assertThat(arrayContaining(String.class, null, "foo", "bar", "foo").inAnyOrder().matchesSafely(array("foo", null, "foo", "bar")), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderExactly() throws Exception {
+		Integer[] set = new Integer[] { 5, 3 };
+
+		assertThat(arrayContaining(Integer.class, greaterThan(1), equalTo(5)).inAnyOrder().matchesSafely(set), is(false));
+		assertThat(arrayContaining(Integer.class, greaterThan(1), equalTo(5)).inAnyOrder().exactly().matchesSafely(set), is(true));
+		assertThat(arrayContaining(Integer.class, greaterThan(4), equalTo(5)).inAnyOrder().exactly().matchesSafely(set), is(false));
+	}
+
 	@Test
 	public void testDescribeTo() throws Exception {
 		StringDescription description = new StringDescription();
@@ -83,6 +124,15 @@ public class ArrayMatcherTest {
 		assertThat(description.toString(), equalTo("<[\"foo\", \"bar\"]>"));
 	}
 
+	@Test
+	public void testDescribeMismatchMergesOnlyAdjacentMatches() throws Exception {
+		StringDescription description = new StringDescription();
+
+		arrayContaining(String.class, "foo", "bar", "baz", "qux").describeMismatch(array("foo", "foobar", "baz", "qux"), description);
+
+		assertThat(description.toString(), equalTo("mismatching elements <[., was \"foobar\", ..]>"));
+	}
+
 	@Test
 	public void testDescribeMismatchEntry() throws Exception {
 		StringDescription description = new StringDescription();
@@ -119,6 +169,22 @@ public class ArrayMatcherTest {
 		assertThat(description.toString(), equalTo("mismatching elements <[found 1 elements surplus [was \"foo\"]]>"));
 	}
 	
+	@Test
+	public void testDescribeMismatchLongArray() throws Exception {
+		StringDescription description = new StringDescription();
+		ArrayMatcher<Integer> matcher = arrayContaining(Integer.class);
+		Integer[] array = new Integer[1000];
+		for (int i = 0; i < array.length; i++) {
+			matcher.element(i);
+			array[i] = i;
+		}
+		array[998] = -1;
+
+		matcher.describeMismatch(array, description);
+
+		assertThat(description.toString(), equalTo("mismatching elements <[... 998 matching ..., was <-1>, .]>"));
+	}
+
 	@Test
 	public void testDescribeMismatchUnmatchedWithCustomMatcher() throws Exception {
 		StringDescription description = new StringDescription();
@@ -128,6 +194,21 @@ public class ArrayMatcherTest {
 		assertThat(description.toString(), equalTo("mismatching elements <[custom \"foobar\"]>"));
 	}
 
+	@Test
+	public void testMatchesSafelyFindsMismatchAtEndWithoutScanning() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		ArrayMatcher<Integer> matcher = arrayContaining(Integer.class);
+		Integer[] array = new Integer[10000];
+		for (int i = 0; i < array.length; i++) {
+			matcher.element(counting(i, calls));
+			array[i] = i;
+		}
+		array[array.length - 1] = -1;
+
+		assertThat(matcher.matchesSafely(array), is(false));
+		assertThat(calls.get(), equalTo(2));
+	}
+
 	private Matcher<String> custom(String string) {
 		return new IsEqual<String>(string) {
 			@Override
@@ -141,4 +222,14 @@ public class ArrayMatcherTest {
 		return elements;
 	}
 
+	private static Matcher<Integer> counting(int value, final AtomicInteger calls) {
+		return new IsEqual<Integer>(value) {
+			@Override
+			public boolean matches(Object actualValue) {
+				calls.incrementAndGet();
+				return super.matches(actualValue);
+			}
+		};
+	}
+
 }
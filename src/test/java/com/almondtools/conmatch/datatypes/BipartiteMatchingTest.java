@@ -0,0 +1,82 @@
+package com.almondtools.conmatch.datatypes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+public class BipartiteMatchingTest {
+
+	@Test
+	public void testSolveWithAugmentingPath() throws Exception {
+		BipartiteMatching matching = new BipartiteMatching(2, 2);
+		matching.connect(0, 0);
+		matching.connect(0, 1);
+		matching.connect(1, 0);
+
+		assertThat(matching.solve(), equalTo(2));
+		assertThat(matching.matchOf(0), equalTo(1));
+		assertThat(matching.matchOf(1), equalTo(0));
+	}
+
+	@Test
+	public void testSolveIncomplete() throws Exception {
+		BipartiteMatching matching = new BipartiteMatching(3, 3);
+		matching.connect(0, 0);
+		matching.connect(1, 0);
+		matching.connect(2, 1);
+		matching.connect(2, 2);
+
+		assertThat(matching.solve(), equalTo(2));
+		assertThat(matching.matchOf(0) < 0 || matching.matchOf(1) < 0, is(true));
+	}
+
+	@Test
+	public void testSolveWide() throws Exception {
+		int size = 200;
+		BipartiteMatching matching = new BipartiteMatching(size, size);
+		for (int i = 0; i < size; i++) {
+			matching.connect(i, i);
+			if (i + 1 < size) {
+				matching.connect(i + 1, i);
+			}
+		}
+
+		assertThat(matching.solve(), equalTo(size));
+		assertThat(matching.connected(5, 4), is(true));
+		assertThat(matching.connected(4, 5), is(false));
+	}
+
+	@Test
+	public void testSolveLongAugmentingChain() throws Exception {
+		int size = 20000;
+		BipartiteMatching matching = new BipartiteMatching(size, size);
+		for (int i = 0; i < size - 1; i++) {
+			matching.connect(i, i);
+			matching.connect(i, i + 1);
+		}
+		matching.connect(size - 1, 0);
+
+		assertThat(matching.solve(), equalTo(size));
+		assertThat(matching.matchOf(0), equalTo(1));
+		assertThat(matching.matchOf(size - 2), equalTo(size - 1));
+		assertThat(matching.matchOf(size - 1), equalTo(0));
+	}
+
+	@Test
+	public void testSolveWithCapacity() throws Exception {
+		BipartiteMatching matching = new BipartiteMatching(3, 2);
+		matching.capacity(0, 2);
+		matching.connect(0, 0);
+		matching.connect(1, 0);
+		matching.connect(1, 1);
+		matching.connect(2, 0);
+
+		assertThat(matching.solve(), equalTo(3));
+		assertThat(matching.matchOf(0), equalTo(0));
+		assertThat(matching.matchOf(1), equalTo(1));
+		assertThat(matching.matchOf(2), equalTo(0));
+	}
+
+}
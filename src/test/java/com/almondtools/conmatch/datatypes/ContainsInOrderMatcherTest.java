@@ -2,6 +2,7 @@ package com.almondtools.conmatch.datatypes;
 
 import static com.almondtools.conmatch.datatypes.ContainsInOrderMatcher.containsInOrder;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
@@ -9,6 +10,7 @@ import static org.hamcrest.Matchers.nullValue;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -132,6 +134,69 @@ public class ContainsInOrderMatcherTest {
 		assertThat(description.toString(), equalTo("mismatching elements <[custom \"foobar\"]>"));
 	}
 
+	@Test
+	public void testDescribeMismatchInserted() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsInOrder(String.class, "a", "b", "c", "d").describeMismatch(list("a", "x", "b", "c", "d"), description);
+
+		assertThat(description.toString(), equalTo("mismatching elements <[., found 1 elements surplus [was \"x\"], ...]>"));
+	}
+
+	@Test
+	public void testDescribeMismatchDeletedAndChanged() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsInOrder(String.class, "a", "b", "c", "d", "e").describeMismatch(list("a", "c", "x", "e"), description);
+
+		assertThat(description.toString(), equalTo("mismatching elements <[., missing 1 elements, ., was \"x\", .]>"));
+	}
+
+	@Test
+	public void testDescribeMismatchLongList() throws Exception {
+		ContainsInOrderMatcher<Integer> matcher = containsInOrder(Integer.class);
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			matcher.element(i);
+			list.add(i);
+		}
+		list.add(5000, -1);
+		StringDescription description = new StringDescription();
+
+		matcher.describeMismatch(list, description);
+
+		assertThat(description.toString(), equalTo("mismatching elements <[... 5000 matching ..., found 1 elements surplus [was <-1>], ... 5000 matching ...]>"));
+	}
+
+	@Test(timeout = 5000)
+	public void testDescribeMismatchLargeDifferentList() throws Exception {
+		ContainsInOrderMatcher<Integer> matcher = containsInOrder(Integer.class);
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < 50000; i++) {
+			matcher.element(i);
+			list.add(-i - 1);
+		}
+		StringDescription description = new StringDescription();
+
+		matcher.describeMismatch(list, description);
+
+		assertThat(description.toString(), endsWith("was <-10>, 49990 more elements changed]>"));
+	}
+
+	@Test
+	public void testDescribeMismatchLimitsHunks() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsInOrder(String.class, "a", "b", "c", "d", "e").withMaximumHunks(1).describeMismatch(list("x", "b", "y", "d", "z"), description);
+
+		assertThat(description.toString(), equalTo("mismatching elements <[was \"x\", further differences after 1 elements omitted]>"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWithNegativeMaximumHunks() throws Exception {
+		containsInOrder(String.class, "a").withMaximumHunks(-1);
+	}
+
 	@Test
 	public void testTypes() throws Exception {
 		assertThat(new HashSet<Sub>(), containsInOrder(Sub.class));
@@ -140,6 +205,21 @@ public class ContainsInOrderMatcherTest {
 		assertThat(new ArrayList<Sub>(), containsInOrder(Super.class));
 	}
 
+	@Test
+	public void testMatchesSafelyFindsMismatchAtEndWithoutScanning() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		ContainsInOrderMatcher<Integer> matcher = containsInOrder(Integer.class);
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			matcher.element(counting(i, calls));
+			list.add(i);
+		}
+		list.set(list.size() - 1, -1);
+
+		assertThat(matcher.matchesSafely(list), is(false));
+		assertThat(calls.get(), equalTo(2));
+	}
+
 	private Matcher<String> custom(String string) {
 		return new IsEqual<String>(string) {
 			@Override
@@ -149,6 +229,16 @@ public class ContainsInOrderMatcherTest {
 		};
 	}
 
+	private static Matcher<Integer> counting(int value, final AtomicInteger calls) {
+		return new IsEqual<Integer>(value) {
+			@Override
+			public boolean matches(Object actualValue) {
+				calls.incrementAndGet();
+				return super.matches(actualValue);
+			}
+		};
+	}
+
 	private List<String> list(String... elements) {
 		List<String> list = new ArrayList<String>();
 		for (String element : elements) {
@@ -2,12 +2,18 @@ package com.almondtools.conmatch.datatypes;
 
 import static com.almondtools.conmatch.datatypes.ContainsMatcher.contains;
 import static com.almondtools.conmatch.datatypes.ContainsMatcher.empty;
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.startsWith;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 
 import org.hamcrest.Description;
@@ -74,6 +80,146 @@ public class ContainsMatcherTest {
 		assertThat(contains(String.class, equalTo("foobar"), equalTo("foo")).matchesSafely(set), is(false));
 	}
 
+	@Test
+	public void testMatchesSafelyWithDuplicateValues() throws Exception {
+		List<String> list = asList("foo", "bar", "foo");
+
+		assertThat(contains(String.class, "foo", "foo", "bar").matchesSafely(list), is(true));
+		assertThat(contains(String.class, "foo", "bar", "bar").matchesSafely(list), is(false));
+		assertThat(contains(String.class, "foo", "bar").matchesSafely(list), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyWithValuesAndMatchers() throws Exception {
+		List<String> list = asList("foo", "bar", "baz");
+
+		assertThat(contains(String.class, startsWith("ba"), "bar", "foo").matchesSafely(list), is(true));
+		assertThat(contains(String.class, startsWith("ba"), "baz", "foo").matchesSafely(list), is(true));
+		assertThat(contains(String.class, startsWith("fo"), "bar", "foo").matchesSafely(list), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyWithArrayValues() throws Exception {
+		List<int[]> list = new ArrayList<>();
+		list.add(new int[] { 1, 2 });
+
+		assertThat(contains(int[].class, new int[] { 1, 2 }).matchesSafely(list), is(true));
+		assertThat(contains(int[].class, new int[] { 2, 1 }).matchesSafely(list), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyRepeatedly() throws Exception {
+		ContainsMatcher<String> matcher = contains(String.class, "foo", startsWith("ba"), startsWith("ba"));
+
+		assertThat(matcher.matchesSafely(asList("bar", "foo", "baz")), is(true));
+		assertThat(matcher.matchesSafely(asList("bar", "foo", "foo")), is(false));
+		assertThat(matcher.matchesSafely(new LinkedList<>(asList("baz", "bar", "foo"))), is(true));
+		assertThat(matcher.matchesSafely(asList("foo", "baz", "bar")), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyExactly() throws Exception {
+		List<Integer> list = asList(5, 3);
+
+		assertThat(contains(Integer.class, greaterThan(1), equalTo(5)).matchesSafely(list), is(false));
+		assertThat(contains(Integer.class, greaterThan(1), 5).exactly().matchesSafely(list), is(true));
+		assertThat(contains(Integer.class, greaterThan(1), equalTo(5)).exactly().matchesSafely(list), is(true));
+		assertThat(contains(Integer.class, greaterThan(4), 5).exactly().matchesSafely(list), is(false));
+		assertThat(contains(Integer.class, 3, 5).exactly().matchesSafely(list), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyInParallel() throws Exception {
+		List<Integer> list = new ArrayList<>();
+		ContainsMatcher<Integer> matcher = contains(Integer.class);
+		ContainsMatcher<Integer> parallel = contains(Integer.class).inParallel();
+		for (int i = 0; i < 3000; i++) {
+			list.add(i % 7);
+			if (i % 3 == 0) {
+				matcher.and(i % 7);
+				parallel.and(i % 7);
+			} else {
+				matcher.and(lessThan(7));
+				parallel.and(lessThan(7));
+			}
+		}
+
+		assertThat(parallel.matchesSafely(list), is(matcher.matchesSafely(list)));
+		assertThat(parallel.matchesSafely(list), is(true));
+		assertThat(parallel.matchesSafely(new HashSet<>(list)), is(false));
+		list.set(2000, 7);
+		assertThat(parallel.matchesSafely(list), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInParallelSameAsSequential() throws Exception {
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			list.add(i % 2 == 0 ? 5 : 3);
+		}
+		ContainsMatcher<Integer> matcher = contains(Integer.class);
+		ContainsMatcher<Integer> parallel = contains(Integer.class).inParallel();
+		ContainsMatcher<Integer> exactly = contains(Integer.class).inParallel().exactly();
+		for (int i = 0; i < 2000; i++) {
+			Matcher<Integer> element = i % 2 == 0 ? greaterThan(1) : equalTo(5);
+			matcher.and(element);
+			parallel.and(element);
+			exactly.and(element);
+		}
+
+		assertThat(matcher.matchesSafely(list), is(false));
+		assertThat(parallel.matchesSafely(list), is(false));
+		assertThat(exactly.matchesSafely(list), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyExactlyOnLargeInput() throws Exception {
+		List<Integer> distinct = new ArrayList<>();
+		List<Integer> repeated = new ArrayList<>();
+		ContainsMatcher<Integer> distinctMatcher = contains(Integer.class).exactly();
+		ContainsMatcher<Integer> repeatedMatcher = contains(Integer.class).exactly();
+		for (int i = 0; i < 50000; i++) {
+			distinct.add(i);
+			repeated.add(1 - i % 2);
+			distinctMatcher.and(49999 - i);
+			repeatedMatcher.and(i % 2);
+		}
+		distinctMatcher.and(greaterThan(-1));
+		repeatedMatcher.and(greaterThan(-1));
+		distinct.add(7);
+		repeated.add(7);
+
+		assertThat(distinctMatcher.matchesSafely(distinct), is(true));
+		assertThat(repeatedMatcher.matchesSafely(repeated), is(true));
+
+		distinct.set(50000, -1);
+		repeated.set(0, 2);
+		repeated.set(50000, 1);
+
+		assertThat(distinctMatcher.matchesSafely(distinct), is(false));
+		assertThat(repeatedMatcher.matchesSafely(repeated), is(true));
+		repeated.set(1, 3);
+		assertThat(repeatedMatcher.matchesSafely(repeated), is(false));
+	}
+
+	@Test
+	public void testDescribeMismatchExactly() throws Exception {
+		StringDescription description = new StringDescription();
+
+		contains(Integer.class, greaterThan(4), 5).exactly().describeMismatch(asList(5, 3), description);
+
+		assertThat(description.toString(), equalTo("mismatching elements <[., found 1 elements surplus [<3> was less than <4>], missing 1 elements]>"));
+	}
+
+	@Test
+	public void testDescribeMismatchWithDuplicateValues() throws Exception {
+		StringDescription description = new StringDescription();
+
+		contains(String.class, "foo", "foo", "bar").describeMismatch(asList("foo", "bar", "bar"), description);
+
+		assertThat(description.toString(), equalTo("mismatching elements <[.., found 1 elements surplus [was \"bar\"], missing 1 elements]>"));
+	}
+
 	@Test
 	public void testDescribeTo() throws Exception {
 		StringDescription description = new StringDescription();
@@ -101,6 +247,22 @@ public class ContainsMatcherTest {
 		assertThat(description.toString(), equalTo("mismatching elements <[.., found 1 elements surplus [was \"foobar\"]]>"));
 	}
 
+	@Test
+	public void testDescribeMismatchKeepsLongRunsOfMatches() throws Exception {
+		StringDescription description = new StringDescription();
+		ContainsMatcher<Integer> matcher = contains(Integer.class);
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			matcher.and(i);
+			list.add(i);
+		}
+		list.add(20);
+
+		matcher.describeMismatch(list, description);
+
+		assertThat(description.toString(), equalTo("mismatching elements <[...................., found 1 elements surplus [was <20>]]>"));
+	}
+
 	@Test
 	public void testDescribeMismatchMissing() throws Exception {
 		StringDescription description = new StringDescription();
@@ -0,0 +1,73 @@
+package com.almondtools.conmatch.datatypes;
+
+import static com.almondtools.conmatch.datatypes.ContainsSubsequenceMatcher.containsSubsequence;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+public class ContainsSubsequenceMatcherTest {
+
+	@Test
+	public void testMatchesSafelyWithGaps() throws Exception {
+		List<String> list = asList("a", "foo", "b", "bar", "c");
+
+		assertThat(containsSubsequence(String.class, "foo", "bar").matchesSafely(list), is(true));
+		assertThat(containsSubsequence(String.class, "a", startsWith("ba"), "c").matchesSafely(list), is(true));
+		assertThat(containsSubsequence(String.class).matchesSafely(list), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyWithGapsNotRandomAccess() throws Exception {
+		List<String> list = new LinkedList<>(asList("a", "foo", "b", "bar", "c"));
+
+		assertThat(containsSubsequence(String.class, "foo", "bar").matchesSafely(list), is(true));
+		assertThat(containsSubsequence(String.class, "bar", "foo").matchesSafely(list), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyWrongOrderFails() throws Exception {
+		List<String> list = asList("a", "foo", "b", "bar", "c");
+
+		assertThat(containsSubsequence(String.class, "bar", "foo").matchesSafely(list), is(false));
+		assertThat(containsSubsequence(String.class, "foo", "foo").matchesSafely(list), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyLargeLog() throws Exception {
+		List<Integer> log = new ArrayList<>();
+		for (int i = 0; i < 100000; i++) {
+			log.add(i % 1000);
+		}
+
+		assertThat(containsSubsequence(Integer.class, 999, 0, 500, 999).matchesSafely(log), is(true));
+		assertThat(containsSubsequence(Integer.class, 1000).matchesSafely(log), is(false));
+	}
+
+	@Test
+	public void testDescribeTo() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsSubsequence(String.class, "foo", "bar").describeTo(description);
+
+		assertThat(description.toString(), equalTo("subsequence <[\"foo\", \"bar\"]>"));
+	}
+
+	@Test
+	public void testDescribeMismatch() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsSubsequence(String.class, "a", "bar", "foo").describeMismatch(asList("a", "foo", "b", "bar", "c"), description);
+
+		assertThat(description.toString(), equalTo("matched 2 of 3 elements in order, no match for \"foo\" in 5 elements"));
+	}
+
+}
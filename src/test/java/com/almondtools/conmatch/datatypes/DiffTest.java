@@ -0,0 +1,83 @@
+package com.almondtools.conmatch.datatypes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class DiffTest {
+
+	@Test
+	public void testCompareEqual() throws Exception {
+		Diff diff = diff("abcdef", "abcdef", 10);
+
+		assertThat(diff.compare(6, 6).size(), equalTo(0));
+	}
+
+	@Test
+	public void testCompareInsertion() throws Exception {
+		List<Diff.Hunk> hunks = diff("abcdef", "abcXdef", 10).compare(6, 7);
+
+		assertThat(hunks.size(), equalTo(1));
+		assertThat(render(hunks.get(0)), equalTo("3-3/3-4"));
+	}
+
+	@Test
+	public void testCompareMixed() throws Exception {
+		List<Diff.Hunk> hunks = diff("abcabba", "cbabac", 10).compare(7, 6);
+
+		int expectedCommon = 7;
+		int actualCommon = 6;
+		for (Diff.Hunk hunk : hunks) {
+			expectedCommon -= hunk.getExpectedEnd() - hunk.getExpectedStart();
+			actualCommon -= hunk.getActualEnd() - hunk.getActualStart();
+		}
+		assertThat(expectedCommon, equalTo(4));
+		assertThat(actualCommon, equalTo(4));
+	}
+
+	@Test
+	public void testCompareTruncated() throws Exception {
+		Diff diff = diff("aXbXcXd", "aYbYcYd", 2);
+
+		List<Diff.Hunk> hunks = diff.compare(7, 7);
+
+		assertThat(diff.isTruncated(), is(true));
+		assertThat(hunks.size(), equalTo(3));
+	}
+
+	@Test
+	public void testCompareFullyDifferentFallsBackToSingleHunk() throws Exception {
+		int size = 100000;
+		Diff diff = new Diff(new Diff.Equality() {
+
+			@Override
+			public boolean equal(int a, int b) {
+				return false;
+			}
+		}, 10);
+
+		List<Diff.Hunk> hunks = diff.compare(size, size);
+
+		assertThat(hunks.size(), equalTo(1));
+		assertThat(render(hunks.get(0)), equalTo("0-" + size + "/0-" + size));
+	}
+
+	private static Diff diff(final String expected, final String actual, int maximumHunks) {
+		return new Diff(new Diff.Equality() {
+
+			@Override
+			public boolean equal(int a, int b) {
+				return expected.charAt(a) == actual.charAt(b);
+			}
+		}, maximumHunks);
+	}
+
+	private static String render(Diff.Hunk hunk) {
+		return hunk.getExpectedStart() + "-" + hunk.getExpectedEnd() + "/" + hunk.getActualStart() + "-" + hunk.getActualEnd();
+	}
+
+}
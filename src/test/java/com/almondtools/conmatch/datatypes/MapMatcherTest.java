@@ -5,9 +5,11 @@ import static com.almondtools.conmatch.datatypes.MapMatcher.noEntries;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -176,6 +178,71 @@ public class MapMatcherTest {
 		assertThat(description.toString(), equalTo("unmatched entries <{custom \"47\"=custom \"11\"}>"));
 	}
 	
+	@Test
+	public void testMatchesSafelyWithMixedValueAndMatcherKeys() throws Exception {
+		Map<String, String> map = map("foo", "bar", "08", "15", "47", "11");
+
+		assertThat(containsEntries(String.class, String.class).entry(startsWith("4"), "11").entry("foo", "bar").entry("08", "15").matchesSafely(map), is(true));
+		assertThat(containsEntries(String.class, String.class).entry(startsWith("0"), "15").entry("foo", "bar").entry("47", "11").matchesSafely(map), is(true));
+		assertThat(containsEntries(String.class, String.class).entry(startsWith("0"), "15").entry("foo", "bar").entry("47", "12").matchesSafely(map), is(false));
+		assertThat(containsEntries(String.class, String.class).entry(startsWith("0"), "15").entry("foo", "bar").entry("48", "11").matchesSafely(map), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyWithValueKeyFallingBackToMatcherKey() throws Exception {
+		Map<String, String> map = map("foo", "bar");
+
+		assertThat(containsEntries(String.class, String.class).entry("foo", "baz").entry(startsWith("f"), "bar").matchesSafely(map), is(false));
+		assertThat(containsEntries(String.class, String.class).entry(startsWith("f"), "bar").matchesSafely(map), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyWithValueKeysUsesKeyEquality() throws Exception {
+		Map<String, String> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		map.put("FOO", "bar");
+
+		assertThat(containsEntries(String.class, String.class).entry("foo", "bar").matchesSafely(map), is(false));
+		assertThat(containsEntries(String.class, String.class).entry("FOO", "bar").matchesSafely(map), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyWithManyValueKeys() throws Exception {
+		Map<String, String> map = new HashMap<>();
+		MapMatcher<String, String> matcher = containsEntries(String.class, String.class);
+		for (int i = 0; i < 20_000; i++) {
+			map.put("key" + i, "value" + i);
+			matcher.entry("key" + i, "value" + i);
+		}
+
+		assertThat(matcher.matchesSafely(map), is(true));
+
+		map.put("key19999", "other");
+
+		assertThat(matcher.matchesSafely(map), is(false));
+	}
+
+	@Test
+	public void testDescribeMismatchWithMixedValueAndMatcherKeys() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsEntries(String.class, String.class).entry(startsWith("0"), "15").entry("foo", "bar").describeMismatch(map("foo", "baz", "08", "15"), description);
+
+		assertThat(description.toString(), equalTo("missing entries <{\"foo\"=\"bar\"}>, unmatched entries <{was \"foo\"=was \"baz\"}>"));
+	}
+
+	@Test
+	public void testSameKeyMatcherTwice() throws Exception {
+		Matcher<String> key = startsWith("f");
+		MapMatcher<String, String> matcher = containsEntries(String.class, String.class).entry(key, "bar").entry(key, "baz");
+		StringDescription description = new StringDescription();
+
+		matcher.describeTo(description);
+
+		assertThat(description.toString(), equalTo("<{a string starting with \"f\"=\"bar\", a string starting with \"f\"=\"baz\"}>"));
+		assertThat(matcher.matchesSafely(map("foo", "bar", "fun", "baz")), is(true));
+		assertThat(matcher.matchesSafely(map("foo", "bar")), is(false));
+	}
+
 
 	private Matcher<String> custom(String string) {
 		return new IsEqual<String>(string) {
@@ -12,6 +12,8 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.hamcrest.StringDescription;
 import org.junit.Test;
 
@@ -80,6 +82,261 @@ public class PrimitiveArrayMatcherTest {
 		assertThat(doubleArrayContaining(0.3e-33, -46232.83345435234235234235235235).matches(new double[] { -46232.83345435234235234235235235, 0.3e-33 }), is(false));
 	}
 
+	@Test
+	public void testMatchesSafelyInAnyOrderOnBoolean() throws Exception {
+		assertThat(booleanArrayContaining(true, false, true).inAnyOrder().matches(new boolean[] { true, true, false }), is(true));
+		assertThat(booleanArrayContaining(true, false, true).inAnyOrder().matches(new boolean[] { false, true, false }), is(false));
+		assertThat(booleanArrayContaining(true, false, true).inAnyOrder().matches(new boolean[] { true, false }), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderOnChar() throws Exception {
+		PrimitiveArrayMatcher<char[]> matcher = charArrayContaining('a', 'z', '\uffff', 'a').inAnyOrder();
+
+		assertThat(matcher.matches(new char[] { 'z', 'a', 'a', '\uffff' }), is(true));
+		assertThat(matcher.matches(new char[] { 'z', 'a', 'z', '\uffff' }), is(false));
+		assertThat(matcher.matches(new char[] { 'z', 'a', 'b', '\uffff' }), is(false));
+		assertThat(matcher.matches(new char[] { 'a', 'a', 'z', '\uffff' }), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderOnByte() throws Exception {
+		PrimitiveArrayMatcher<byte[]> matcher = byteArrayContaining(b(0), b(-1), b(127), b(-128)).inAnyOrder();
+
+		assertThat(matcher.matches(new byte[] { -128, 127, -1, 0 }), is(true));
+		assertThat(matcher.matches(new byte[] { -128, 127, -1, -1 }), is(false));
+		assertThat(matcher.matches(new byte[] { 0, -1, 127, -128 }), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderOnShort() throws Exception {
+		PrimitiveArrayMatcher<short[]> matcher = shortArrayContaining(s(1), s(-1), s(-1)).inAnyOrder();
+
+		assertThat(matcher.matches(new short[] { -1, 1, -1 }), is(true));
+		assertThat(matcher.matches(new short[] { -1, 1, 1 }), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderOnSmallCharAndShortSorts() throws Exception {
+		PrimitiveArrayMatcher<char[]> chars = charArrayContaining('b', 'a', 'b').inAnyOrder();
+		PrimitiveArrayMatcher<short[]> shorts = shortArrayContaining(s(2), s(-1)).inAnyOrder();
+
+		assertThat(chars.countsValues(), is(false));
+		assertThat(shorts.countsValues(), is(false));
+		assertThat(chars.matches(new char[] { 'b', 'b', 'a' }), is(true));
+		assertThat(chars.matches(new char[] { 'a', 'a', 'b' }), is(false));
+		assertThat(shorts.matches(new short[] { -1, 2 }), is(true));
+		assertThat(shorts.matches(new short[] { -1, -1 }), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderOnLargeCharAndShortCounts() throws Exception {
+		char[] expectedChars = new char[PrimitiveArrayMatcher.HISTOGRAM_LENGTH];
+		short[] expectedShorts = new short[PrimitiveArrayMatcher.HISTOGRAM_LENGTH];
+		char[] actualChars = new char[expectedChars.length];
+		short[] actualShorts = new short[expectedShorts.length];
+		for (int i = 0; i < expectedChars.length; i++) {
+			expectedChars[i] = (char) (i * 7919);
+			expectedShorts[i] = (short) (i * 7919);
+			actualChars[actualChars.length - 1 - i] = expectedChars[i];
+			actualShorts[actualShorts.length - 1 - i] = expectedShorts[i];
+		}
+		PrimitiveArrayMatcher<char[]> chars = charArrayContaining(expectedChars).inAnyOrder();
+		PrimitiveArrayMatcher<short[]> shorts = shortArrayContaining(expectedShorts).inAnyOrder();
+
+		assertThat(chars.countsValues(), is(true));
+		assertThat(shorts.countsValues(), is(true));
+		assertThat(chars.matches(actualChars), is(true));
+		assertThat(shorts.matches(actualShorts), is(true));
+		actualChars[0]++;
+		actualShorts[0]++;
+		assertThat(chars.matches(actualChars), is(false));
+		assertThat(shorts.matches(actualShorts), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderOnInt() throws Exception {
+		PrimitiveArrayMatcher<int[]> matcher = intArrayContaining(-9999999, 1, Integer.MAX_VALUE, Integer.MIN_VALUE, 1).inAnyOrder();
+
+		assertThat(matcher.matches(new int[] { 1, Integer.MIN_VALUE, 1, -9999999, Integer.MAX_VALUE }), is(true));
+		assertThat(matcher.matches(new int[] { 1, Integer.MIN_VALUE, 2, -9999999, Integer.MAX_VALUE }), is(false));
+		assertThat(matcher.matches(new int[] { 1, Integer.MIN_VALUE, 1, -9999999 }), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderOnLong() throws Exception {
+		PrimitiveArrayMatcher<long[]> matcher = longArrayContaining(1, -9999999999l, Long.MIN_VALUE, Long.MAX_VALUE).inAnyOrder();
+
+		assertThat(matcher.matches(new long[] { Long.MAX_VALUE, -9999999999l, 1, Long.MIN_VALUE }), is(true));
+		assertThat(matcher.matches(new long[] { Long.MAX_VALUE, -9999999998l, 1, Long.MIN_VALUE }), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderOnLargeInt() throws Exception {
+		int[] expected = new int[100000];
+		int[] actual = new int[expected.length];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = i * 7919 - 50000;
+			actual[actual.length - 1 - i] = expected[i];
+		}
+		PrimitiveArrayMatcher<int[]> matcher = intArrayContaining(expected).inAnyOrder();
+
+		assertThat(matcher.matches(actual), is(true));
+		actual[500] = 1;
+		assertThat(matcher.matches(actual), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInAnyOrderAboveRetainedLength() throws Exception {
+		long[] expected = new long[PrimitiveArrayMatcher.RETAINED_LENGTH + 1];
+		long[] actual = new long[expected.length];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = i * 7919L - 50000;
+			actual[actual.length - 1 - i] = expected[i];
+		}
+		PrimitiveArrayMatcher<long[]> matcher = longArrayContaining(expected).inAnyOrder();
+
+		assertThat(matcher.matches(actual), is(true));
+		actual[500] = 1;
+		assertThat(matcher.matches(actual), is(false));
+		assertThat(PrimitiveArrayMatcher.retainedBufferLength() <= PrimitiveArrayMatcher.RETAINED_LENGTH, is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyWithAbsoluteTolerance() throws Exception {
+		assertThat(doubleArrayContaining(1.0, 2.0).withAbsoluteTolerance(0.01).matches(new double[] { 1.005, 1.995 }), is(true));
+		assertThat(doubleArrayContaining(1.0, 2.0).withAbsoluteTolerance(0.01).matches(new double[] { 1.02, 2.0 }), is(false));
+		assertThat(floatArrayContaining(1.0f, Float.NaN).withAbsoluteTolerance(0.01).matches(new float[] { 1.005f, Float.NaN }), is(true));
+		assertThat(doubleArrayContaining(Double.POSITIVE_INFINITY).withAbsoluteTolerance(0.01).matches(new double[] { Double.POSITIVE_INFINITY }), is(true));
+		assertThat(doubleArrayContaining(1.0).withAbsoluteTolerance(0.01).matches(new double[] { Double.NaN }), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyWithRelativeTolerance() throws Exception {
+		assertThat(doubleArrayContaining(1000.0, -0.001).withRelativeTolerance(0.01).matches(new double[] { 1009.0, -0.00101 }), is(true));
+		assertThat(doubleArrayContaining(1000.0, -0.001).withRelativeTolerance(0.01).matches(new double[] { 1011.0, -0.001 }), is(false));
+		assertThat(floatArrayContaining(1e30f).withRelativeTolerance(1e-6).matches(new float[] { Math.nextUp(1e30f) }), is(true));
+	}
+
+	@Test
+	public void testMatchesSafelyWithUlpTolerance() throws Exception {
+		double one = 1.0;
+		assertThat(doubleArrayContaining(one).withUlpTolerance(2).matches(new double[] { Math.nextUp(Math.nextUp(one)) }), is(true));
+		assertThat(doubleArrayContaining(one).withUlpTolerance(1).matches(new double[] { Math.nextUp(Math.nextUp(one)) }), is(false));
+		assertThat(floatArrayContaining(0.0f).withUlpTolerance(2).matches(new float[] { -Float.MIN_VALUE }), is(true));
+		assertThat(floatArrayContaining(Float.MIN_VALUE).withUlpTolerance(2).matches(new float[] { -Float.MIN_VALUE }), is(true));
+		assertThat(floatArrayContaining(Float.MIN_VALUE).withUlpTolerance(1).matches(new float[] { -Float.MIN_VALUE }), is(false));
+		assertThat(doubleArrayContaining(Double.MAX_VALUE).withUlpTolerance(1).matches(new double[] { -Double.MAX_VALUE }), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyWithToleranceInAnyOrder() throws Exception {
+		assertThat(doubleArrayContaining(3.0, 1.0, 2.0).inAnyOrder().withAbsoluteTolerance(0.1).matches(new double[] { 1.05, 2.95, 2.02 }), is(true));
+		assertThat(doubleArrayContaining(3.0, 1.0, 2.0).inAnyOrder().withAbsoluteTolerance(0.1).matches(new double[] { 1.05, 2.95, 2.2 }), is(false));
+		assertThat(floatArrayContaining(3.0f, 1.0f).inAnyOrder().withUlpTolerance(1).matches(new float[] { Math.nextDown(3.0f), 1.0f }), is(true));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testToleranceOnIntegralArrays() throws Exception {
+		intArrayContaining(1).withAbsoluteTolerance(1);
+	}
+
+	@Test
+	public void testDescribeToWithTolerance() throws Exception {
+		StringDescription description = new StringDescription();
+
+		doubleArrayContaining(1.0).withUlpTolerance(4).describeTo(description);
+
+		assertThat(description.toString(), equalTo("an array containing values of type <double>: [<1.0>] within 4 ulps"));
+	}
+
+	@Test
+	public void testMatchesSafelyInParallel() throws Exception {
+		long[] expected = new long[20 * PrimitiveArrayMatcher.CHUNK_SIZE + 3];
+		long[] actual = new long[expected.length];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = i * 7L;
+			actual[i] = i * 7L;
+		}
+		PrimitiveArrayMatcher<long[]> matcher = longArrayContaining(expected).inParallel();
+
+		assertThat(matcher.matches(actual), is(true));
+		actual[expected.length - 1] = 0;
+		assertThat(matcher.matches(actual), is(false));
+		actual[expected.length - 1] = expected[expected.length - 1];
+		actual[5 * PrimitiveArrayMatcher.CHUNK_SIZE] = 0;
+		assertThat(matcher.matches(actual), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyInParallelWithTolerance() throws Exception {
+		double[] expected = new double[10 * PrimitiveArrayMatcher.CHUNK_SIZE];
+		double[] actual = new double[expected.length];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = i / 3.0;
+			actual[expected.length - 1 - i] = i / 3.0 + 0.001;
+		}
+
+		assertThat(doubleArrayContaining(expected).withAbsoluteTolerance(0.01).inParallel().inAnyOrder().matches(actual), is(true));
+		assertThat(doubleArrayContaining(expected).withAbsoluteTolerance(0.01).inParallel().matches(actual), is(false));
+		assertThat(doubleArrayContaining(expected).withAbsoluteTolerance(0.0001).inParallel().inAnyOrder().matches(actual), is(false));
+	}
+
+	@Test
+	public void testInAnyOrderDoesNotChangeExpectedArray() throws Exception {
+		int[] expected = new int[] { 3, 1, 2 };
+
+		PrimitiveArrayMatcher<int[]> matcher = intArrayContaining(expected).inAnyOrder();
+
+		assertThat(expected, equalTo(new int[] { 3, 1, 2 }));
+		assertThat(matcher.matches(new int[] { 2, 3, 1 }), is(true));
+	}
+
+	@Test
+	public void testInAnyOrderDoesNotChangeOriginalMatcher() throws Exception {
+		PrimitiveArrayMatcher<int[]> matcher = intArrayContaining(3, 1, 2);
+
+		PrimitiveArrayMatcher<int[]> anyOrder = matcher.inAnyOrder();
+
+		assertThat(matcher.matches(new int[] { 1, 2, 3 }), is(false));
+		assertThat(anyOrder.matches(new int[] { 1, 2, 3 }), is(true));
+		assertThat(matcher.matches(new int[] { 3, 1, 2 }), is(true));
+	}
+
+	@Test
+	public void testSharedMatcherInConcurrentThreads() throws Exception {
+		final int[] expected = new int[10000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = i * 13 % 997;
+		}
+		final PrimitiveArrayMatcher<int[]> matcher = intArrayContaining(expected).inAnyOrder();
+		final AtomicInteger failures = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final int shift = t;
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for (int run = 0; run < 50; run++) {
+						int[] actual = new int[expected.length];
+						for (int i = 0; i < actual.length; i++) {
+							actual[i] = expected[(i + shift + run) % expected.length];
+						}
+						if (!matcher.matches(actual)) {
+							failures.incrementAndGet();
+						}
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(failures.get(), equalTo(0));
+	}
+
 	@Test
 	public void testDescribeTo() throws Exception {
 		StringDescription description = new StringDescription();
@@ -122,7 +379,51 @@ public class PrimitiveArrayMatcherTest {
 
 		doubleArrayContaining(0.3e-33, -46232.83345435234235234235235235).describeMismatch(new double[] { 3e-33 }, description);
 		
-		assertThat(description.toString(), equalTo("with items [<3.0E-33>]"));
+		assertThat(description.toString(), equalTo("with 1 items instead of 2, differing at index 0 (1 of 1 items differ): expected [<3.0E-34>, <-46232.833454352345>] but was [<3.0E-33>]"));
+	}
+
+	@Test
+	public void testDescribeMismatchSafelyOnMissingValues() throws Exception {
+		StringDescription description = new StringDescription();
+
+		intArrayContaining(1, 2, 3).describeMismatch(new int[] { 1, 2 }, description);
+
+		assertThat(description.toString(), equalTo("with 2 items instead of 3, first 2 items matching"));
+	}
+
+	@Test
+	public void testDescribeMismatchSafelyOnHugeArray() throws Exception {
+		StringDescription description = new StringDescription();
+		int[] expected = new int[1000000];
+		int[] actual = new int[expected.length];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = i;
+			actual[i] = i % 100000 == 99999 ? -1 : i;
+		}
+
+		intArrayContaining(expected).describeMismatch(actual, description);
+
+		assertThat(description.toString(), equalTo("differing at index 99999 (10 of 1000000 items differ): "
+			+ "expected [..., <99996>, <99997>, <99998>, <99999>, <100000>, <100001>, <100002>, ...] "
+			+ "but was [..., <99996>, <99997>, <99998>, <-1>, <100000>, <100001>, <100002>, ...]"));
+	}
+
+	@Test
+	public void testDescribeMismatchSafelyInAnyOrder() throws Exception {
+		StringDescription description = new StringDescription();
+
+		intArrayContaining(3, 2, 1).inAnyOrder().describeMismatch(new int[] { 2, 4, 1 }, description);
+
+		assertThat(description.toString(), equalTo("in sorted order differing at index 2 (1 of 3 items differ): expected [<1>, <2>, <3>] but was [<1>, <2>, <4>]"));
+	}
+
+	@Test
+	public void testDescribeMismatchSafelyWithTolerance() throws Exception {
+		StringDescription description = new StringDescription();
+
+		doubleArrayContaining(1.0, 2.0).withAbsoluteTolerance(0.1).describeMismatch(new double[] { 1.05, 2.5 }, description);
+
+		assertThat(description.toString(), equalTo("differing at index 1 (1 of 2 items differ): expected [<1.0>, <2.0>] but was [<1.05>, <2.5>]"));
 	}
 
 	private byte b(int i) {
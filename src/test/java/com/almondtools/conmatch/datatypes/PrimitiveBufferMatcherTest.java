@@ -0,0 +1,150 @@
+package com.almondtools.conmatch.datatypes;
+
+import static com.almondtools.conmatch.datatypes.PrimitiveBufferMatcher.byteBufferContaining;
+import static com.almondtools.conmatch.datatypes.PrimitiveBufferMatcher.charBufferContaining;
+import static com.almondtools.conmatch.datatypes.PrimitiveBufferMatcher.doubleBufferContaining;
+import static com.almondtools.conmatch.datatypes.PrimitiveBufferMatcher.floatBufferContaining;
+import static com.almondtools.conmatch.datatypes.PrimitiveBufferMatcher.intBufferContaining;
+import static com.almondtools.conmatch.datatypes.PrimitiveBufferMatcher.longBufferContaining;
+import static com.almondtools.conmatch.datatypes.PrimitiveBufferMatcher.shortBufferContaining;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+import org.hamcrest.StringDescription;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PrimitiveBufferMatcherTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testMatchesHeapBuffers() throws Exception {
+		assertThat(byteBufferContaining((byte) 1, (byte) 2).matches(ByteBuffer.wrap(new byte[] { 1, 2 })), is(true));
+		assertThat(charBufferContaining('a', 'b').matches(CharBuffer.wrap("ab")), is(true));
+		assertThat(shortBufferContaining((short) 1, (short) 2).matches(ShortBuffer.wrap(new short[] { 1, 2 })), is(true));
+		assertThat(intBufferContaining(1, 2).matches(IntBuffer.wrap(new int[] { 1, 2 })), is(true));
+		assertThat(longBufferContaining(1, 2).matches(LongBuffer.wrap(new long[] { 1, 2 })), is(true));
+		assertThat(floatBufferContaining(1f, Float.NaN).matches(FloatBuffer.wrap(new float[] { 1f, Float.NaN })), is(true));
+		assertThat(doubleBufferContaining(1d, 0d).matches(DoubleBuffer.wrap(new double[] { 1d, -0d })), is(false));
+		assertThat(intBufferContaining(1, 2).matches(IntBuffer.wrap(new int[] { 2, 1 })), is(false));
+	}
+
+	@Test
+	public void testMatchesRespectsPositionAndLimit() throws Exception {
+		IntBuffer buffer = IntBuffer.wrap(new int[] { 0, 1, 2, 3 });
+		buffer.position(1);
+		buffer.limit(3);
+
+		assertThat(intBufferContaining(1, 2).matches(buffer), is(true));
+		assertThat(intBufferContaining(0, 1, 2, 3).matches(buffer), is(false));
+		assertThat(buffer.position(), equalTo(1));
+	}
+
+	@Test
+	public void testMatchesDirectBuffersInChunks() throws Exception {
+		int[] expected = new int[3 * PrimitiveBufferMatcher.CHUNK_SIZE + 7];
+		IntBuffer buffer = ByteBuffer.allocateDirect(expected.length * 4).asIntBuffer();
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = i * 31;
+			buffer.put(i * 31);
+		}
+		buffer.flip();
+
+		assertThat(intBufferContaining(expected).matches(buffer), is(true));
+		buffer.put(expected.length - 1, 0);
+		assertThat(intBufferContaining(expected).matches(buffer), is(false));
+	}
+
+	@Test
+	public void testMatchesMappedFile() throws Exception {
+		File file = folder.newFile();
+		ByteBuffer content = ByteBuffer.allocate(16);
+		content.putLong(42).putInt(7).putInt(8);
+		Files.write(file.toPath(), content.array());
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+			ByteBuffer mapped = channel.map(READ_ONLY, 8, 8);
+
+			assertThat(mapped.duplicate().asIntBuffer(), intBufferContaining(7, 8));
+			assertThat(mapped, byteBufferContaining((byte) 0, (byte) 0, (byte) 0, (byte) 7, (byte) 0, (byte) 0, (byte) 0, (byte) 8));
+		}
+	}
+
+	@Test
+	public void testDescribeTo() throws Exception {
+		StringDescription description = new StringDescription();
+
+		intBufferContaining(1, 2).describeTo(description);
+
+		assertThat(description.toString(), equalTo("a buffer containing 2 values of type <int>"));
+	}
+
+	@Test
+	public void testDescribeMismatchLength() throws Exception {
+		StringDescription description = new StringDescription();
+
+		intBufferContaining(1, 2).describeMismatch(IntBuffer.wrap(new int[] { 1 }), description);
+
+		assertThat(description.toString(), equalTo("with 1 remaining values"));
+	}
+
+	@Test
+	public void testDescribeMismatchValue() throws Exception {
+		StringDescription description = new StringDescription();
+		IntBuffer buffer = IntBuffer.wrap(new int[] { 0, 1, 3 });
+		buffer.position(1);
+
+		intBufferContaining(1, 2).describeMismatch(buffer, description);
+
+		assertThat(description.toString(), equalTo("differing at index 1: expected <2> but was <3>"));
+	}
+
+	@Test
+	public void testExpectedValuesAreCopied() throws Exception {
+		int[] expected = new int[] { 1, 2 };
+		PrimitiveBufferMatcher<IntBuffer> matcher = intBufferContaining(expected);
+
+		expected[1] = 3;
+
+		assertThat(matcher.matches(IntBuffer.wrap(new int[] { 1, 2 })), is(true));
+		assertThat(matcher.matches(IntBuffer.wrap(new int[] { 1, 3 })), is(false));
+	}
+
+	@Test
+	public void testDescribeMismatchValueOfEachType() throws Exception {
+		StringDescription description = new StringDescription();
+
+		byteBufferContaining((byte) 1).describeMismatch(ByteBuffer.wrap(new byte[] { 2 }), description.appendText("\n"));
+		charBufferContaining('a').describeMismatch(CharBuffer.wrap("b"), description.appendText("\n"));
+		shortBufferContaining((short) 1).describeMismatch(ShortBuffer.wrap(new short[] { 2 }), description.appendText("\n"));
+		longBufferContaining(1).describeMismatch(LongBuffer.wrap(new long[] { 2 }), description.appendText("\n"));
+		floatBufferContaining(0f).describeMismatch(FloatBuffer.wrap(new float[] { -0f }), description.appendText("\n"));
+		doubleBufferContaining(1d).describeMismatch(DoubleBuffer.wrap(new double[] { 2d }), description.appendText("\n"));
+
+		assertThat(description.toString(), equalTo("\n"
+			+ "differing at index 0: expected <1> but was <2>\n"
+			+ "differing at index 0: expected \"a\" but was \"b\"\n"
+			+ "differing at index 0: expected <1s> but was <2s>\n"
+			+ "differing at index 0: expected <1L> but was <2L>\n"
+			+ "differing at index 0: expected <0.0F> but was <-0.0F>\n"
+			+ "differing at index 0: expected <1.0> but was <2.0>"));
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.almondtools.conmatch.datatypes;
+
+import static com.almondtools.conmatch.datatypes.PrimitiveSubarrayMatcher.byteArrayContainingSubarray;
+import static com.almondtools.conmatch.datatypes.PrimitiveSubarrayMatcher.charArrayContainingSubarray;
+import static com.almondtools.conmatch.datatypes.PrimitiveSubarrayMatcher.intArrayContainingSubarray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+public class PrimitiveSubarrayMatcherTest {
+
+	@Test
+	public void testMatchesByteSubarray() throws Exception {
+		byte[] bytes = new byte[] { 1, 2, 3, 1, 2, 4, -1, 0 };
+
+		assertThat(byteArrayContainingSubarray((byte) 1, (byte) 2, (byte) 4).matches(bytes), is(true));
+		assertThat(byteArrayContainingSubarray((byte) -1, (byte) 0).matches(bytes), is(true));
+		assertThat(byteArrayContainingSubarray((byte) 2, (byte) 3, (byte) 4).matches(bytes), is(false));
+		assertThat(byteArrayContainingSubarray().matches(bytes), is(true));
+		assertThat(byteArrayContainingSubarray((byte) 1).matches(new byte[0]), is(false));
+	}
+
+	@Test
+	public void testMatchesCharSubarray() throws Exception {
+		char[] chars = "aaaabaaabš".toCharArray();
+
+		assertThat(charArrayContainingSubarray("aaab".toCharArray()).matches(chars), is(true));
+		assertThat(charArrayContainingSubarray("bš".toCharArray()).matches(chars), is(true));
+		assertThat(charArrayContainingSubarray("baš".toCharArray()).matches(chars), is(false));
+		assertThat(charArrayContainingSubarray("bb".toCharArray()).matches(chars), is(false));
+	}
+
+	@Test
+	public void testMatchesIntSubarrayInLargeArray() throws Exception {
+		int[] values = new int[100000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i % 1000;
+		}
+
+		assertThat(intArrayContainingSubarray(998, 999, 0, 1).matches(values), is(true));
+		assertThat(intArrayContainingSubarray(999, 1000).matches(values), is(false));
+		assertThat(intArrayContainingSubarray(256, 257).matches(values), is(true));
+	}
+
+	@Test
+	public void testMatchesWithin() throws Exception {
+		int[] values = new int[] { 1, 2, 3, 4, 5, 6 };
+
+		assertThat(intArrayContainingSubarray(3, 4).within(1, 4).matches(values), is(true));
+		assertThat(intArrayContainingSubarray(3, 4).within(3, 6).matches(values), is(false));
+		assertThat(intArrayContainingSubarray(3, 4).within(0, 3).matches(values), is(false));
+		assertThat(intArrayContainingSubarray(5, 6).within(4, 10).matches(values), is(true));
+	}
+
+	@Test
+	public void testMatchesAt() throws Exception {
+		int[] values = new int[] { 1, 2, 3, 4, 5, 6 };
+
+		assertThat(intArrayContainingSubarray(3, 4).at(2).matches(values), is(true));
+		assertThat(intArrayContainingSubarray(3, 4).at(1).matches(values), is(false));
+		assertThat(intArrayContainingSubarray(6, 7).at(5).matches(values), is(false));
+	}
+
+	@Test
+	public void testNarrowingLeavesOriginalUnchanged() throws Exception {
+		int[] values = new int[] { 1, 2, 3, 4, 5, 6 };
+		PrimitiveSubarrayMatcher<int[]> matcher = intArrayContainingSubarray(3, 4);
+
+		assertThat(matcher.within(3, 6).matches(values), is(false));
+		assertThat(matcher.at(1).matches(values), is(false));
+		assertThat(matcher.matches(values), is(true));
+	}
+
+	@Test
+	public void testIgnoresLaterChangesOfSubarray() throws Exception {
+		int[] subarray = new int[] { 3, 4 };
+		PrimitiveSubarrayMatcher<int[]> matcher = intArrayContainingSubarray(subarray);
+		subarray[0] = 7;
+
+		assertThat(matcher.matches(new int[] { 1, 2, 3, 4 }), is(true));
+	}
+
+	@Test
+	public void testMatchesOtherTypes() throws Exception {
+		assertThat(intArrayContainingSubarray(1).matches(new long[] { 1 }), is(false));
+	}
+
+	@Test
+	public void testDescribeTo() throws Exception {
+		StringDescription description = new StringDescription();
+
+		intArrayContainingSubarray(3, 4).within(1, 4).describeTo(description);
+
+		assertThat(description.toString(), equalTo("an array containing the subarray [<3>, <4>] within indices 1 to 4"));
+	}
+
+	@Test
+	public void testDescribeMismatch() throws Exception {
+		StringDescription description = new StringDescription();
+
+		intArrayContainingSubarray(3, 4).describeMismatch(new int[] { 1, 2, 3 }, description);
+
+		assertThat(description.toString(), equalTo("without occurrence in 3 items"));
+	}
+
+	@Test
+	public void testDescribeMismatchAt() throws Exception {
+		StringDescription description = new StringDescription();
+
+		intArrayContainingSubarray(3, 4).at(1).describeMismatch(new int[] { 1, 2, 3 }, description);
+
+		assertThat(description.toString(), equalTo("with items [<2>, <3>]"));
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.almondtools.conmatch.datatypes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+public class ScratchTest {
+
+	@Test
+	public void testAcquireResets() throws Exception {
+		Scratch.Local local = new Scratch.Local();
+		Scratch scratch = local.acquire(100);
+		scratch.consume(70);
+		scratch.increment(3);
+		scratch.release();
+
+		Scratch reused = local.acquire(100);
+
+		assertThat(reused, sameInstance(scratch));
+		assertThat(reused.isConsumed(70), is(false));
+		assertThat(reused.count(3), equalTo(0));
+	}
+
+	@Test
+	public void testAcquireWhileInUse() throws Exception {
+		Scratch.Local local = new Scratch.Local();
+		Scratch outer = local.acquire(2);
+		outer.consume(1);
+
+		Scratch inner = local.acquire(2);
+
+		assertThat(inner, not(sameInstance(outer)));
+		assertThat(outer.isConsumed(1), is(true));
+		assertThat(inner.isConsumed(1), is(false));
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.almondtools.conmatch.datatypes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+public class SlotIndexTest {
+
+	@Test
+	public void testAddAssignsSlotsInOrder() throws Exception {
+		SlotIndex<String, String> index = new SlotIndex<>(true, startingWith());
+
+		assertThat(index.addValue("a"), equalTo(0));
+		assertThat(index.addMatcher(), equalTo(1));
+		assertThat(index.addValue("a"), equalTo(2));
+		assertThat(index.size(), equalTo(3));
+		assertThat(index.valueSlots("a"), contains(0, 2));
+		assertThat(index.valueSlots("b"), nullValue());
+		assertThat(index.matcherSlots(), contains(1));
+	}
+
+	@Test
+	public void testTryMatchInterchangeableValues() throws Exception {
+		SlotIndex<String, String> index = new SlotIndex<>(true, startingWith());
+		index.addValue("a");
+		index.addValue("a");
+		index.addMatcher();
+		Scratch consumed = new Scratch(index.size());
+
+		assertThat(index.tryMatch(consumed, "a", "a"), is(true));
+		assertThat(index.tryMatch(consumed, "a", "a"), is(true));
+		assertThat(index.tryMatch(consumed, "a", "a"), is(true));
+		assertThat(consumed.isConsumed(2), is(true));
+		assertThat(index.tryMatch(consumed, "a", "a"), is(false));
+	}
+
+	@Test
+	public void testTryMatchDistinctValues() throws Exception {
+		SlotIndex<String, String> index = new SlotIndex<>(false, new SlotIndex.Acceptor<String>() {
+
+			@Override
+			public boolean accepts(int slot, String element) {
+				return slot == 1;
+			}
+		});
+		index.addValue("a");
+		index.addValue("a");
+		Scratch consumed = new Scratch(index.size());
+
+		assertThat(index.tryMatch(consumed, "a", "a"), is(true));
+		assertThat(consumed.isConsumed(0), is(false));
+		assertThat(consumed.isConsumed(1), is(true));
+		assertThat(index.tryMatch(consumed, "a", "a"), is(false));
+	}
+
+	@Test
+	public void testTryMatchMatcherFromKnownCandidate() throws Exception {
+		SlotIndex<String, String> index = new SlotIndex<>(true, new SlotIndex.Acceptor<String>() {
+
+			@Override
+			public boolean accepts(int slot, String element) {
+				return false;
+			}
+		});
+		index.addMatcher();
+		index.addMatcher();
+		Scratch consumed = new Scratch(index.size());
+
+		assertThat(index.tryMatchMatcher(consumed, 1, true, "x"), is(true));
+		assertThat(consumed.isConsumed(1), is(true));
+		assertThat(index.tryMatchMatcher(consumed, 0, false, "x"), is(false));
+	}
+
+	@Test
+	public void testConnect() throws Exception {
+		SlotIndex<String, String> index = new SlotIndex<>(true, startingWith());
+		index.addValue("a");
+		index.addMatcher();
+		index.addValue("b");
+		BipartiteMatching matching = new BipartiteMatching(1, index.size());
+
+		index.connect(matching, 0, "a", "a");
+
+		assertThat(matching.connected(0, 0), is(true));
+		assertThat(matching.connected(0, 1), is(true));
+		assertThat(matching.connected(0, 2), is(false));
+	}
+
+	private static SlotIndex.Acceptor<String> startingWith() {
+		return new SlotIndex.Acceptor<String>() {
+
+			@Override
+			public boolean accepts(int slot, String element) {
+				return element.startsWith("a");
+			}
+		};
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.almondtools.conmatch.datatypes;
+
+import static com.almondtools.conmatch.datatypes.StreamingContainsInOrderMatcher.iterableContainsInOrder;
+import static com.almondtools.conmatch.datatypes.StreamingContainsInOrderMatcher.iteratorContainsInOrder;
+import static com.almondtools.conmatch.datatypes.StreamingContainsInOrderMatcher.streamContainsInOrder;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+public class StreamingContainsInOrderMatcherTest {
+
+	@Test
+	public void testMatchesIterable() throws Exception {
+		assertThat(iterableContainsInOrder(String.class, "foo", "bar").matches(asList("foo", "bar")), is(true));
+		assertThat(iterableContainsInOrder(String.class, "foo", startsWith("ba")).matches(asList("foo", "baz")), is(true));
+		assertThat(iterableContainsInOrder(String.class, "foo", "bar").matches(asList("bar", "foo")), is(false));
+	}
+
+	@Test
+	public void testMatchesIterator() throws Exception {
+		assertThat(iteratorContainsInOrder(String.class, "foo", "bar").matches(asList("foo", "bar").iterator()), is(true));
+		assertThat(iteratorContainsInOrder(String.class, "foo", "bar").matches(asList("foo").iterator()), is(false));
+	}
+
+	@Test
+	public void testMatchesStream() throws Exception {
+		assertThat(streamContainsInOrder(String.class, "foo", "bar").matches(Stream.of("foo", "bar")), is(true));
+		assertThat(streamContainsInOrder(String.class, "foo", "bar").matches(Stream.of("foo", "bar", "baz")), is(false));
+	}
+
+	@Test
+	public void testFailsFast() throws Exception {
+		Iterator<String> iterator = Stream.iterate("foo", s -> s + "o").iterator();
+
+		assertThat(iteratorContainsInOrder(String.class, "foo", "bar").matches(iterator), is(false));
+		assertThat(iterator.next(), equalTo("foooo"));
+	}
+
+	@Test
+	public void testDescribeMismatchElement() throws Exception {
+		StringDescription description = new StringDescription();
+
+		iterableContainsInOrder(String.class, "foo", "bar").describeMismatch(asList("foo", "baz"), description);
+
+		assertThat(description.toString(), equalTo("mismatching element at index 1: was \"baz\""));
+	}
+
+	@Test
+	public void testDescribeMismatchSurplus() throws Exception {
+		StringDescription description = new StringDescription();
+
+		iterableContainsInOrder(String.class, "foo").describeMismatch(asList("foo", "baz"), description);
+
+		assertThat(description.toString(), equalTo("found surplus element at index 1: \"baz\""));
+	}
+
+	@Test
+	public void testDescribeMismatchMissing() throws Exception {
+		StringDescription description = new StringDescription();
+
+		iterableContainsInOrder(String.class, "foo", "bar").describeMismatch(asList("foo"), description);
+
+		assertThat(description.toString(), equalTo("missing 1 elements after 1 elements"));
+	}
+
+	@Test
+	public void testAssertThatStreamReportsFirstPass() throws Exception {
+		AssertionError error = assertThrows(AssertionError.class, () -> assertThat(Stream.of(1, 2, 3), streamContainsInOrder(Integer.class, 1, 2, 4)));
+
+		assertThat(error.getMessage(), containsString("but: mismatching element at index 2: was <3>"));
+	}
+
+	@Test
+	public void testAssertThatIteratorReportsFirstPass() throws Exception {
+		AssertionError error = assertThrows(AssertionError.class, () -> assertThat(asList(1, 2, 3).iterator(), iteratorContainsInOrder(Integer.class, 1, 2, 4)));
+
+		assertThat(error.getMessage(), containsString("but: mismatching element at index 2: was <3>"));
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.almondtools.conmatch.datatypes;
+
+import static com.almondtools.conmatch.datatypes.StreamingContainsMatcher.iterableContains;
+import static com.almondtools.conmatch.datatypes.StreamingContainsMatcher.iteratorContains;
+import static com.almondtools.conmatch.datatypes.StreamingContainsMatcher.streamContains;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+public class StreamingContainsMatcherTest {
+
+	@Test
+	public void testMatchesIterable() throws Exception {
+		assertThat(iterableContains(String.class, "foo", "bar").matches(asList("bar", "foo")), is(true));
+		assertThat(iterableContains(String.class, "foo", startsWith("ba")).matches(asList("baz", "foo")), is(true));
+		assertThat(iterableContains(String.class, "foo", "bar").matches(asList("foo", "foo")), is(false));
+	}
+
+	@Test
+	public void testMatchesIterator() throws Exception {
+		assertThat(iteratorContains(String.class, "foo", "bar").matches(asList("bar", "foo").iterator()), is(true));
+		assertThat(iteratorContains(String.class, "foo", "bar").matches(asList("bar").iterator()), is(false));
+	}
+
+	@Test
+	public void testMatchesStream() throws Exception {
+		assertThat(streamContains(String.class, "foo", "bar").matches(Stream.of("bar", "foo")), is(true));
+		assertThat(streamContains(String.class, "foo", "bar").matches(Stream.of("bar", "foo", "baz")), is(false));
+	}
+
+	@Test
+	public void testMatchesOtherTypes() throws Exception {
+		assertThat(iterableContains(String.class, "foo").matches("foo"), is(false));
+	}
+
+	@Test
+	public void testFailsFast() throws Exception {
+		Iterator<String> iterator = Stream.iterate("foo", s -> s + "o").iterator();
+
+		assertThat(iteratorContains(String.class, "foo", "bar").matches(iterator), is(false));
+		assertThat(iterator.next(), equalTo("foooo"));
+	}
+
+	@Test
+	public void testDescribeTo() throws Exception {
+		StringDescription description = new StringDescription();
+
+		iterableContains(String.class, "foo", "bar").describeTo(description);
+
+		assertThat(description.toString(), equalTo("<[\"foo\", \"bar\"]>"));
+	}
+
+	@Test
+	public void testDescribeMismatchUnmatched() throws Exception {
+		StringDescription description = new StringDescription();
+
+		iterableContains(String.class, "foo", "bar").describeMismatch(asList("foo", "baz"), description);
+
+		assertThat(description.toString(), equalTo("unmatched element at index 1: \"baz\""));
+	}
+
+	@Test
+	public void testDescribeMismatchSurplus() throws Exception {
+		StringDescription description = new StringDescription();
+
+		iterableContains(String.class, "foo", "bar").describeMismatch(asList("foo", "bar", "baz"), description);
+
+		assertThat(description.toString(), equalTo("found surplus element at index 2: \"baz\""));
+	}
+
+	@Test
+	public void testDescribeMismatchMissing() throws Exception {
+		StringDescription description = new StringDescription();
+
+		iterableContains(String.class, "foo", "bar").describeMismatch(asList("bar"), description);
+
+		assertThat(description.toString(), equalTo("missing 1 elements after 1 elements"));
+	}
+
+	@Test
+	public void testAssertThatStreamReportsFirstPass() throws Exception {
+		AssertionError error = assertThrows(AssertionError.class, () -> assertThat(Stream.of(1, 2, 3), streamContains(Integer.class, 1, 2, 4)));
+
+		assertThat(error.getMessage(), containsString("but: unmatched element at index 2: <3>"));
+	}
+
+	@Test
+	public void testAssertThatIteratorReportsFirstPass() throws Exception {
+		AssertionError error = assertThrows(AssertionError.class, () -> assertThat(asList(1, 2, 3).iterator(), iteratorContains(Integer.class, 1, 2, 4)));
+
+		assertThat(error.getMessage(), containsString("but: unmatched element at index 2: <3>"));
+	}
+
+	@Test
+	public void testAssertThatIterableReportsMissing() throws Exception {
+		AssertionError error = assertThrows(AssertionError.class, () -> assertThat(asList(1, 2), iterableContains(Integer.class, 1, 2, 4)));
+
+		assertThat(error.getMessage(), containsString("but: missing 1 elements after 2 elements"));
+	}
+
+	@Test
+	public void testMatchesAgainAfterMismatch() throws Exception {
+		StreamingContainsMatcher<Iterable<? extends String>, String> matcher = iterableContains(String.class, "foo", "bar");
+		List<String> list = new ArrayList<>(asList("foo", "baz"));
+
+		assertThat(matcher.matches(list), is(false));
+		list.set(1, "bar");
+		assertThat(matcher.matches(list), is(true));
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.almondtools.conmatch.strings;
+
+import static com.almondtools.conmatch.strings.ByteWildcardMatcher.bufferContainsPattern;
+import static com.almondtools.conmatch.strings.ByteWildcardMatcher.bytesContainPattern;
+import static com.almondtools.conmatch.strings.ByteWildcardMatcher.fileContainsBytePattern;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+public class ByteWildcardMatcherTest {
+
+	@Test
+	public void testBytesContainPattern() throws Exception {
+		assertThat(bytesContainPattern("89 50 4E 47").matches(new byte[] { (byte) 0x89, 0x50, 0x4e, 0x47, 0x0d }), is(true));
+		assertThat(bytesContainPattern("89 50 4E 47").matches(new byte[] { (byte) 0x89, 0x50, 0x4e }), is(false));
+	}
+
+	@Test
+	public void testBufferContainsPattern() throws Exception {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+		buffer.put(new byte[] { 0x01, 0x02, 0x03, 0x04 }).flip();
+
+		assertThat(bufferContainsPattern("02 ?? 04").matches(buffer), is(true));
+		assertThat(bufferContainsPattern("04 * 01").matches(buffer), is(false));
+	}
+
+	@Test
+	public void testFileContainsBytePattern() throws Exception {
+		Path file = Files.createTempFile("conmatch", ".bin");
+		try {
+			Files.write(file, new byte[] { 0x50, 0x4b, 0x03, 0x04, 0x14, 0x00 });
+
+			assertThat(fileContainsBytePattern("50 4B 03 04 ?? 00").matches(file), is(true));
+			assertThat(fileContainsBytePattern("50 4B 05 06").matches(file), is(false));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testDescribeTo() throws Exception {
+		StringDescription description = new StringDescription();
+
+		bytesContainPattern("CA FE").describeTo(description);
+
+		assertThat(description.toString(), equalTo("contains bytes \"CA FE\""));
+	}
+
+	@Test
+	public void testDescribeMismatch() throws Exception {
+		StringDescription description = new StringDescription();
+
+		bytesContainPattern("CA FE").describeMismatch(new byte[] { 0x01, 0x02 }, description);
+
+		assertThat(description.toString(), equalTo("no match in 2 bytes"));
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.almondtools.conmatch.strings;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class ByteWildcardPatternTest {
+
+	@Test
+	public void testFindLiteral() throws Exception {
+		ByteWildcardPattern pattern = ByteWildcardPattern.compile("CA FE BA BE");
+
+		assertThat(pattern.find(bytes(0x00, 0xca, 0xfe, 0xba, 0xbe, 0x00)), is(true));
+		assertThat(pattern.find(bytes(0xca, 0xfe, 0xba)), is(false));
+		assertThat(pattern.find(bytes(0xca, 0xfe, 0xca, 0xfe, 0xba, 0xbe)), is(true));
+	}
+
+	@Test
+	public void testFindWithoutWhitespace() throws Exception {
+		assertThat(ByteWildcardPattern.compile("cafe??be").find(bytes(0xca, 0xfe, 0x00, 0xbe)), is(true));
+	}
+
+	@Test
+	public void testFindSingleByteWildcards() throws Exception {
+		ByteWildcardPattern pattern = ByteWildcardPattern.compile("CA ?? ?? BE");
+
+		assertThat(pattern.find(bytes(0xca, 0x01, 0x02, 0xbe)), is(true));
+		assertThat(pattern.find(bytes(0xca, 0x01, 0xbe)), is(false));
+		assertThat(pattern.find(bytes(0xca, 0x01, 0x02, 0x03, 0xbe)), is(false));
+	}
+
+	@Test
+	public void testFindNibbleWildcards() throws Exception {
+		ByteWildcardPattern pattern = ByteWildcardPattern.compile("C? ?E");
+
+		assertThat(pattern.find(bytes(0xc1, 0x2e)), is(true));
+		assertThat(pattern.find(bytes(0xd1, 0x2e)), is(false));
+		assertThat(pattern.find(bytes(0xc1, 0x2f)), is(false));
+	}
+
+	@Test
+	public void testFindMultipleWildcards() throws Exception {
+		ByteWildcardPattern pattern = ByteWildcardPattern.compile("01 * 02 ?? 03 *");
+
+		assertThat(pattern.find(bytes(0x01, 0xff, 0xff, 0x02, 0xff, 0x03)), is(true));
+		assertThat(pattern.find(bytes(0x01, 0x02, 0x00, 0x03)), is(true));
+		assertThat(pattern.find(bytes(0x02, 0x00, 0x03, 0x01)), is(false));
+		assertThat(ByteWildcardPattern.compile("*").find(bytes()), is(true));
+		assertThat(ByteWildcardPattern.compile("").find(bytes()), is(true));
+	}
+
+	@Test
+	public void testFindRespectsBufferPositionAndLimit() throws Exception {
+		ByteWildcardPattern pattern = ByteWildcardPattern.compile("01 02");
+		java.nio.ByteBuffer buffer = java.nio.ByteBuffer.allocateDirect(6);
+		buffer.put(bytes(0x01, 0x02, 0x00, 0x00, 0x01, 0x02));
+
+		buffer.position(1).limit(5);
+		assertThat(pattern.find(buffer), is(false));
+		buffer.position(1).limit(6);
+		assertThat(pattern.find(buffer), is(true));
+		assertThat(buffer.position(), equalTo(1));
+	}
+
+	@Test
+	public void testFindInChannelAcrossRegions() throws Exception {
+		Path file = Files.createTempFile("conmatch", ".bin");
+		try {
+			byte[] content = new byte[1000];
+			content[98] = 0x01;
+			content[99] = 0x02;
+			content[100] = 0x03;
+			content[500] = 0x04;
+			content[501] = 0x05;
+			Files.write(file, content);
+			try (FileChannel channel = FileChannel.open(file, READ)) {
+				assertThat(ByteWildcardPattern.compile("01 02 03").find(channel, 100), is(true));
+				assertThat(ByteWildcardPattern.compile("01 ?? 03 * 04 05").find(channel, 100), is(true));
+				assertThat(ByteWildcardPattern.compile("04 05 * 01").find(channel, 100), is(false));
+				assertThat(ByteWildcardPattern.compile("05 06").find(channel, 100), is(false));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompileIllegalChar() throws Exception {
+		ByteWildcardPattern.compile("CA FG");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompileIncompleteByte() throws Exception {
+		ByteWildcardPattern.compile("CA F");
+	}
+
+	private static byte[] bytes(int... values) {
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			bytes[i] = (byte) values[i];
+		}
+		return bytes;
+	}
+
+}
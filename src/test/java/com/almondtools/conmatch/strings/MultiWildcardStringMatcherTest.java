@@ -0,0 +1,82 @@
+package com.almondtools.conmatch.strings;
+
+import static com.almondtools.conmatch.strings.MultiWildcardStringMatcher.containsAllPatterns;
+import static com.almondtools.conmatch.strings.MultiWildcardStringMatcher.containsAnyPattern;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+public class MultiWildcardStringMatcherTest {
+
+	@Test
+	public void testContainsAllPatterns() throws Exception {
+		assertThat(containsAllPatterns("a?c", "x*z", "hello").matches("hello abc and xyyz"), is(true));
+		assertThat(containsAllPatterns("a?c", "x*z", "hello").matches("xyyz hello ac"), is(true));
+		assertThat(containsAllPatterns("a?c", "x*z", "hello").matches("hello abbc and xyyz"), is(false));
+		assertThat(containsAllPatterns("a?c", "x*z", "hello").matches("hello abc and zyyx"), is(false));
+	}
+
+	@Test
+	public void testContainsAllPatternsWithSharedSegments() throws Exception {
+		assertThat(containsAllPatterns("abc", "bc", "c*c").matches("abc"), is(false));
+		assertThat(containsAllPatterns("abc", "bc", "c*c").matches("abcc"), is(true));
+		assertThat(containsAllPatterns("ab*ab", "b*b").matches("abab"), is(true));
+		assertThat(containsAllPatterns("ab*ab*ab").matches("abab"), is(false));
+	}
+
+	@Test
+	public void testContainsAllPatternsRespectsBlockOrder() throws Exception {
+		assertThat(containsAllPatterns("a*b?c*d").matches("a--bc--d"), is(true));
+		assertThat(containsAllPatterns("a*b?c*d").matches("a--bxc--d"), is(true));
+		assertThat(containsAllPatterns("a*b?c*d").matches("a--bxyc--d"), is(false));
+		assertThat(containsAllPatterns("a*b?c*d").matches("d--a--bxc"), is(false));
+	}
+
+	@Test
+	public void testContainsAllPatternsWithWildcardsOnly() throws Exception {
+		assertThat(containsAllPatterns("*", "", "??").matches(""), is(true));
+		assertThat(containsAllPatterns().matches("any"), is(true));
+	}
+
+	@Test
+	public void testContainsAnyPattern() throws Exception {
+		assertThat(containsAnyPattern("a?c", "x*z").matches("just abc"), is(true));
+		assertThat(containsAnyPattern("a?c", "x*z").matches("just x..z"), is(true));
+		assertThat(containsAnyPattern("a?c", "x*z").matches("just a..c"), is(false));
+		assertThat(containsAnyPattern().matches("any"), is(false));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPatternsWithMixedFlags() throws Exception {
+		new MultiWildcardPattern(WildcardPattern.compile("a"), WildcardPattern.compile("b", WildcardPattern.CASE_INSENSITIVE));
+	}
+
+	@Test
+	public void testPatternsIgnoringCase() throws Exception {
+		MultiWildcardPattern patterns = new MultiWildcardPattern(WildcardPattern.compile("A?C", WildcardPattern.CASE_INSENSITIVE), WildcardPattern.compile("x*Z", WildcardPattern.CASE_INSENSITIVE));
+
+		assertThat(patterns.findAll("abc xyz").cardinality(), equalTo(2));
+	}
+
+	@Test
+	public void testDescribeTo() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsAllPatterns("a?c", "x*z").describeTo(description);
+
+		assertThat(description.toString(), equalTo("contains all of [\"a?c\", \"x*z\"]"));
+	}
+
+	@Test
+	public void testDescribeMismatch() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsAllPatterns("a?c", "x*z", "hello").describeMismatch("hello abbc and xyyz", description);
+
+		assertThat(description.toString(), equalTo("missing patterns [\"a?c\"]"));
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.almondtools.conmatch.strings;
+
+import static com.almondtools.conmatch.strings.StreamingWildcardMatcher.fileContainsPattern;
+import static com.almondtools.conmatch.strings.StreamingWildcardMatcher.inputStreamContainsPattern;
+import static com.almondtools.conmatch.strings.StreamingWildcardMatcher.readerContainsPattern;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+public class StreamingWildcardMatcherTest {
+
+	@Test
+	public void testReaderContainsPattern() throws Exception {
+		assertThat(readerContainsPattern("a?c*x").matches(new StringReader("--abc--x--")), is(true));
+		assertThat(readerContainsPattern("a?c*x").matches(new StringReader("--abbc--x--")), is(false));
+		assertThat(readerContainsPattern("").matches(new StringReader("")), is(true));
+	}
+
+	@Test
+	public void testReaderContainsPatternAcrossChunks() throws Exception {
+		String filler = repeat('-', StreamingWildcardMatcher.BUFFER_SIZE - 3);
+
+		assertThat(readerContainsPattern("abc?def").matches(new StringReader(filler + "abcXdef")), is(true));
+		assertThat(readerContainsPattern("abc?def").matches(new StringReader(filler + "abcXYdef")), is(false));
+	}
+
+	@Test
+	public void testReaderContainsLongLiteral() throws Exception {
+		String literal = repeat('a', 100) + "b";
+
+		assertThat(readerContainsPattern(literal).matches(new StringReader("aa" + literal)), is(true));
+		assertThat(readerContainsPattern(literal).matches(new StringReader(literal.substring(1))), is(false));
+	}
+
+	@Test
+	public void testInputStreamContainsPattern() throws Exception {
+		byte[] bytes = "größe: 42 µm".getBytes(UTF_8);
+
+		assertThat(inputStreamContainsPattern("größe: ?? µm", UTF_8).matches(new ByteArrayInputStream(bytes)), is(true));
+		assertThat(inputStreamContainsPattern("größe: ? µm", UTF_8).matches(new ByteArrayInputStream(bytes)), is(false));
+	}
+
+	@Test
+	public void testFileContainsPattern() throws Exception {
+		Path file = Files.createTempFile("conmatch", ".txt");
+		try {
+			Files.write(file, (repeat('x', 20000) + "größe: 42 µm" + repeat('y', 20000)).getBytes(UTF_8));
+
+			assertThat(fileContainsPattern("größe: ?? µm", UTF_8).matches(file), is(true));
+			assertThat(fileContainsPattern("x*größe*y", UTF_8).matches(file), is(true));
+			assertThat(fileContainsPattern("y*größe", UTF_8).matches(file), is(false));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testFileContainsPatternOnEmptyFile() throws Exception {
+		Path file = Files.createTempFile("conmatch", ".txt");
+		try {
+			assertThat(fileContainsPattern("*", UTF_8).matches(file), is(true));
+			assertThat(fileContainsPattern("a", UTF_8).matches(file), is(false));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testDescribeTo() throws Exception {
+		StringDescription description = new StringDescription();
+
+		readerContainsPattern("a?c").describeTo(description);
+
+		assertThat(description.toString(), equalTo("contains \"a?c\""));
+	}
+
+	@Test
+	public void testDescribeMismatch() throws Exception {
+		StringDescription description = new StringDescription();
+
+		readerContainsPattern("a?c").describeMismatch(new StringReader("abbc"), description);
+
+		assertThat(description.toString(), equalTo("no match in 4 chars"));
+	}
+
+	private static String repeat(char c, int count) {
+		char[] chars = new char[count];
+		Arrays.fill(chars, c);
+		return new String(chars);
+	}
+
+	@Test
+	public void testAssertThatReaderReportsFirstScan() throws Exception {
+		AssertionError error = assertThrows(AssertionError.class, () -> assertThat(new StringReader("hello world"), readerContainsPattern("wor*x")));
+
+		assertThat(error.getMessage(), containsString("but: no match in 11 chars"));
+	}
+
+	@Test
+	public void testAssertThatInputStreamReportsFirstScan() throws Exception {
+		AssertionError error = assertThrows(AssertionError.class, () -> assertThat(new ByteArrayInputStream("hello world".getBytes(UTF_8)), inputStreamContainsPattern("wor*x", UTF_8)));
+
+		assertThat(error.getMessage(), containsString("but: no match in 11 chars"));
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.almondtools.conmatch.strings;
+
+import static com.almondtools.conmatch.strings.WildcardCharSequenceMatcher.charSequenceContainsPattern;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+public class WildcardCharSequenceMatcherTest {
+
+	@Test
+	public void testMatchesStringBuilder() throws Exception {
+		StringBuilder text = new StringBuilder("any chars, 'abcde', are matched");
+
+		assertThat(charSequenceContainsPattern("any chars, '*', are matched").matches(text), is(true));
+		assertThat(charSequenceContainsPattern("'?', are").matches(text), is(false));
+		assertThat(charSequenceContainsPattern("'abcde?', are").matches(text), is(true));
+	}
+
+	@Test
+	public void testMatchesLiteralWithSkipSearch() throws Exception {
+		StringBuilder text = new StringBuilder("abababcabcdabcde");
+
+		assertThat(charSequenceContainsPattern("abcde").matches(text), is(true));
+		assertThat(charSequenceContainsPattern("abcdef").matches(text), is(false));
+		assertThat(charSequenceContainsPattern("e").matches(text), is(true));
+		assertThat(charSequenceContainsPattern("ab*ab*ab*ab*ab").matches(text), is(true));
+		assertThat(charSequenceContainsPattern("ab*ab*ab*ab*ab*ab").matches(text), is(false));
+		assertThat(charSequenceContainsPattern("šb").matches(new StringBuilder("ššabšb")), is(true));
+	}
+
+	@Test
+	public void testMatchesDirectCharBuffer() throws Exception {
+		CharBuffer text = ByteBuffer.allocateDirect(64).asCharBuffer();
+		text.put("header: value 42").flip();
+
+		assertThat(charSequenceContainsPattern("value ??").matches(text), is(true));
+		assertThat(charSequenceContainsPattern("value ?2*x").matches(text), is(false));
+		assertThat(text.position(), equalTo(0));
+	}
+
+	@Test
+	public void testDescribeTo() throws Exception {
+		StringDescription description = new StringDescription();
+
+		charSequenceContainsPattern("a?c").describeTo(description);
+
+		assertThat(description.toString(), equalTo("contains \"a?c\""));
+	}
+
+}
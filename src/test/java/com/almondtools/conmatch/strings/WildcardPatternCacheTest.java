@@ -0,0 +1,103 @@
+package com.almondtools.conmatch.strings;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+public class WildcardPatternCacheTest {
+
+	@Test
+	public void testCompileReturnsCachedPattern() throws Exception {
+		WildcardPatternCache cache = new WildcardPatternCache(10);
+
+		WildcardPattern first = cache.compile("a*b");
+		WildcardPattern second = cache.compile("a*b");
+
+		assertThat(second, sameInstance(first));
+		assertThat(cache.hits(), equalTo(1l));
+		assertThat(cache.misses(), equalTo(1l));
+		assertThat(cache.size(), equalTo(1));
+	}
+
+	@Test
+	public void testCompileDistinguishesFlags() throws Exception {
+		WildcardPatternCache cache = new WildcardPatternCache(10);
+
+		WildcardPattern plain = cache.compile("a*b");
+		WildcardPattern ignoringCase = cache.compile("a*b", WildcardPattern.CASE_INSENSITIVE);
+
+		assertThat(ignoringCase, not(sameInstance(plain)));
+		assertThat(ignoringCase.getFlags(), equalTo(WildcardPattern.CASE_INSENSITIVE));
+		assertThat(cache.compile("a*b", 0), sameInstance(plain));
+		assertThat(cache.size(), equalTo(2));
+	}
+
+	@Test
+	public void testCompileEvictsLeastRecentlyUsed() throws Exception {
+		WildcardPatternCache cache = new WildcardPatternCache(2);
+
+		WildcardPattern a = cache.compile("a");
+		WildcardPattern b = cache.compile("b");
+		cache.compile("a");
+		cache.compile("c");
+
+		assertThat(cache.size(), equalTo(2));
+		assertThat(cache.compile("a"), sameInstance(a));
+		assertThat(cache.compile("b"), not(sameInstance(b)));
+		assertThat(cache.hits(), equalTo(2l));
+		assertThat(cache.misses(), equalTo(4l));
+	}
+
+	@Test
+	public void testSetMaximumSizeShrinks() throws Exception {
+		WildcardPatternCache cache = new WildcardPatternCache(3);
+		cache.compile("a");
+		cache.compile("b");
+		WildcardPattern c = cache.compile("c");
+
+		cache.setMaximumSize(1);
+
+		assertThat(cache.getMaximumSize(), equalTo(1));
+		assertThat(cache.size(), equalTo(1));
+		assertThat(cache.compile("c"), sameInstance(c));
+	}
+
+	@Test
+	public void testZeroMaximumSizeDisablesCaching() throws Exception {
+		WildcardPatternCache cache = new WildcardPatternCache(0);
+
+		WildcardPattern first = cache.compile("a*b");
+		WildcardPattern second = cache.compile("a*b");
+
+		assertThat(second, not(sameInstance(first)));
+		assertThat(cache.size(), equalTo(0));
+		assertThat(cache.misses(), equalTo(2l));
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		WildcardPatternCache cache = new WildcardPatternCache(10);
+		cache.compile("a");
+		cache.compile("a");
+
+		cache.clear();
+
+		assertThat(cache.size(), equalTo(0));
+		assertThat(cache.hits(), equalTo(0l));
+		assertThat(cache.misses(), equalTo(0l));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeMaximumSize() throws Exception {
+		new WildcardPatternCache(-1);
+	}
+
+	@Test
+	public void testShared() throws Exception {
+		assertThat(WildcardPatternCache.shared(), sameInstance(WildcardPatternCache.shared()));
+	}
+
+}
@@ -0,0 +1,206 @@
+package com.almondtools.conmatch.strings;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class WildcardPatternTest {
+
+	@Test
+	public void testFindLiteral() throws Exception {
+		assertThat(WildcardPattern.compile("abc").find("xxabcxx"), is(true));
+		assertThat(WildcardPattern.compile("abc").find("xxabxcx"), is(false));
+		assertThat(WildcardPattern.compile("").find(""), is(true));
+		assertThat(WildcardPattern.compile("").find("abc"), is(true));
+	}
+
+	@Test
+	public void testFindOnlyWildcards() throws Exception {
+		assertThat(WildcardPattern.compile("*").find(""), is(true));
+		assertThat(WildcardPattern.compile("??*?").find(""), is(true));
+		assertThat(WildcardPattern.compile("?").find("abc"), is(true));
+	}
+
+	@Test
+	public void testFindOptionalChars() throws Exception {
+		WildcardPattern pattern = WildcardPattern.compile("a??b");
+
+		assertThat(pattern.find("ab"), is(true));
+		assertThat(pattern.find("axb"), is(true));
+		assertThat(pattern.find("axyb"), is(true));
+		assertThat(pattern.find("axyzb"), is(false));
+		assertThat(pattern.find("axyzbaab"), is(true));
+	}
+
+	@Test
+	public void testFindOptionalCharsAfterFailedPrefix() throws Exception {
+		WildcardPattern pattern = WildcardPattern.compile("aa?ab");
+
+		assertThat(pattern.find("aaaab"), is(true));
+		assertThat(pattern.find("aaab"), is(true));
+		assertThat(pattern.find("aab"), is(false));
+		assertThat(pattern.find("aaaaab"), is(true));
+		assertThat(pattern.find("aaxxab"), is(false));
+	}
+
+	@Test
+	public void testFindMultipleWildcards() throws Exception {
+		WildcardPattern pattern = WildcardPattern.compile("a*b?c*d");
+
+		assertThat(pattern.find("a--bc--d"), is(true));
+		assertThat(pattern.find("a--bxc--d"), is(true));
+		assertThat(pattern.find("a--bxyc--d"), is(false));
+		assertThat(pattern.find("d--a--bxc"), is(false));
+	}
+
+	@Test
+	public void testFindNonLatinChars() throws Exception {
+		WildcardPattern pattern = WildcardPattern.compile("α?β");
+
+		assertThat(pattern.find("αβ"), is(true));
+		assertThat(pattern.find("αγβ"), is(true));
+		assertThat(pattern.find("αγγβ"), is(false));
+	}
+
+	@Test
+	public void testFindWideBlock() throws Exception {
+		String prefix = repeat('a', 70);
+		WildcardPattern pattern = WildcardPattern.compile(prefix + "?b" + prefix + "?c");
+
+		assertThat(pattern.find("x" + prefix + "b" + prefix + "c"), is(true));
+		assertThat(pattern.find("x" + prefix + "xb" + prefix + "yc"), is(true));
+		assertThat(pattern.find("x" + prefix + "xyb" + prefix + "c"), is(false));
+		assertThat(pattern.find("x" + prefix + "b" + prefix), is(false));
+	}
+
+	@Test
+	public void testFindOnPathologicalInput() throws Exception {
+		String text = repeat('a', 200000);
+		WildcardPattern pattern = WildcardPattern.compile("a*a*a*a*a*a?a?a?a*b");
+
+		assertThat(pattern.find(text), is(false));
+	}
+
+	@Test
+	public void testFindIgnoringCase() throws Exception {
+		WildcardPattern pattern = WildcardPattern.compile("Größe: ?? µM*OK", WildcardPattern.CASE_INSENSITIVE);
+
+		assertThat(pattern.find("GRÖSSE: 42 µm ok"), is(false));
+		assertThat(pattern.find("gRÖße: 42 Μm ok"), is(true));
+		assertThat(pattern.find(new StringBuilder("GRÖßE: 42 µM OK")), is(true));
+		assertThat(pattern.find("Größe: 42 mm OK"), is(false));
+		assertThat(WildcardPattern.compile("Größe", 0).find("gröSSe"), is(false));
+	}
+
+	@Test
+	public void testFindNormalized() throws Exception {
+		String composed = "caf\u00e9";
+		String decomposed = "cafe\u0301";
+		WildcardPattern pattern = WildcardPattern.compile(decomposed + " ?", WildcardPattern.NORMALIZED);
+
+		assertThat(pattern.find(composed + " 1"), is(true));
+		assertThat(pattern.find(decomposed + " 1"), is(true));
+		assertThat(WildcardPattern.compile(decomposed).find(composed), is(false));
+	}
+
+	@Test
+	public void testFindNormalizedIgnoringCase() throws Exception {
+		WildcardPattern pattern = WildcardPattern.compile("CAFE\u0301", WildcardPattern.NORMALIZED | WildcardPattern.CASE_INSENSITIVE);
+
+		assertThat(pattern.find("un caf\u00e9"), is(true));
+	}
+
+	@Test
+	public void testScannerIgnoringCase() throws Exception {
+		WildcardPattern.Scanner scanner = WildcardPattern.compile("A?c", WildcardPattern.CASE_INSENSITIVE).scanner();
+
+		assertThat(scanner.feed("xaBC".toCharArray(), 0, 4), is(true));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testScannerNormalized() throws Exception {
+		WildcardPattern.compile("a", WildcardPattern.NORMALIZED).scanner();
+	}
+
+	@Test
+	public void testMatchReportsPosition() throws Exception {
+		WildcardMatch match = WildcardPattern.compile("b?d*f").match("abcdeefg");
+
+		assertThat(match.isComplete(), is(true));
+		assertThat(match.getStart(), equalTo(1));
+		assertThat(match.getEnd(), equalTo(7));
+		assertThat(match.getMatchedPattern(), equalTo("b?d*f"));
+	}
+
+	@Test
+	public void testMatchReportsLongestPartialMatch() throws Exception {
+		WildcardMatch match = WildcardPattern.compile("b?d*fgh*z").match("abcdeefgxfg");
+
+		assertThat(match.isComplete(), is(false));
+		assertThat(match.getStart(), equalTo(1));
+		assertThat(match.getEnd(), equalTo(8));
+		assertThat(match.getMatchedPattern(), equalTo("b?d*fg"));
+	}
+
+	@Test
+	public void testMatchReportsPartialMatchInFirstBlock() throws Exception {
+		WildcardMatch match = WildcardPattern.compile("abcd").match("xabcxab");
+
+		assertThat(match.isComplete(), is(false));
+		assertThat(match.getStart(), equalTo(-1));
+		assertThat(match.getEnd(), equalTo(4));
+		assertThat(match.getMatchedPattern(), equalTo("abc"));
+	}
+
+	@Test
+	public void testMatchReportsNoPartialMatch() throws Exception {
+		WildcardMatch match = WildcardPattern.compile("xyz").match("abc");
+
+		assertThat(match.isComplete(), is(false));
+		assertThat(match.getEnd(), equalTo(0));
+		assertThat(match.getMatchedPattern(), equalTo(""));
+	}
+
+	@Test
+	public void testScannerAgreesWithFind() throws Exception {
+		String[] patterns = { "a??b", "aa?ab", "a*b?c*d", "", "??", repeat('a', 70) + "?b" };
+		String[] texts = { "ab", "axyzbaab", "aaaab", "aab", "a--bxc--d", "d--a--bxc", "", repeat('a', 72) + "b" };
+		for (String pattern : patterns) {
+			WildcardPattern compiled = WildcardPattern.compile(pattern);
+			for (String text : texts) {
+				WildcardPattern.Scanner scanner = compiled.scanner();
+				for (char c : text.toCharArray()) {
+					scanner.feed(c);
+				}
+				assertThat(pattern + " in " + text, scanner.matched(), equalTo(compiled.find(text)));
+			}
+		}
+	}
+
+	@Test
+	public void testScannerReset() throws Exception {
+		WildcardPattern.Scanner scanner = WildcardPattern.compile("a?c").scanner();
+
+		assertThat(scanner.feed("abc".toCharArray(), 0, 3), is(true));
+		scanner.reset();
+		assertThat(scanner.matched(), is(false));
+		assertThat(scanner.feed("ac".toCharArray(), 0, 2), is(true));
+	}
+
+	@Test
+	public void testToString() throws Exception {
+		assertThat(WildcardPattern.compile("a*b?c").toString(), equalTo("a*b?c"));
+		assertThat(WildcardPattern.compile("a*b?c").getPattern(), equalTo("a*b?c"));
+	}
+
+	private static String repeat(char c, int count) {
+		char[] chars = new char[count];
+		Arrays.fill(chars, c);
+		return new String(chars);
+	}
+
+}
@@ -45,6 +45,27 @@ public class WildcardStringMatcherTest {
 		assertThat(containsPattern("any chars, '*', are matched").matches("any chars, 'abcde'\n, are matched"), is(false));
 	}
 
+	@Test
+	public void testMatchesSafelyIgnoringCase() throws Exception {
+		assertThat(containsPattern("ANY chars, '*'").ignoringCase().matches("any Chars, 'abc', are matched"), is(true));
+		assertThat(containsPattern("ANY chars, '*'").matches("any Chars, 'abc', are matched"), is(false));
+	}
+
+	@Test
+	public void testMatchesSafelyNormalized() throws Exception {
+		assertThat(containsPattern("caf\u00e9").normalized().matches("cafe\u0301"), is(true));
+		assertThat(containsPattern("caf\u00e9").matches("cafe\u0301"), is(false));
+	}
+
+	@Test
+	public void testDescribeToWithFlags() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsPattern("a?c").ignoringCase().normalized().describeTo(description);
+
+		assertThat(description.toString(), equalTo("contains \"a?c\" ignoring case after NFC normalization"));
+	}
+
 	@Test
 	public void testDescribeTo() throws Exception {
 		StringDescription description = new StringDescription();
@@ -60,7 +81,29 @@ public class WildcardStringMatcherTest {
 		
 		containsPattern("just 1 char, '?', is matched").describeMismatch("just 1 char, 'ab', is matched",  description);
 		
-		assertThat(description.toString(), equalTo("was \"just 1 char, 'ab', is matched\""));
+		assertThat(description.toString(), equalTo("was \"just 1 char, 'ab', is matched\" matching \"just 1 char, '?\" up to offset 14"));
+	}
+
+	@Test
+	public void testDescribeMismatchWithoutPartialMatch() throws Exception {
+		StringDescription description = new StringDescription();
+
+		containsPattern("xyz").describeMismatch("abc", description);
+
+		assertThat(description.toString(), equalTo("was \"abc\" without any partial match"));
+	}
+
+	@Test
+	public void testDescribeMismatchRendersBoundedWindow() throws Exception {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		StringDescription description = new StringDescription();
+
+		containsPattern("line 500\nline ?x").describeMismatch(text.toString(), description);
+
+		assertThat(description.toString(), equalTo("was \"ine 497\\nline 498\\nline 499\\nline 500\\nline 501\\nline 502\\nline 503\\nline 504\\nline 505\\n\" (chars 4364 to 4444 of 8890) matching \"line 500\\nline ?\" up to offset 4404"));
 	}
 
 }